@@ -0,0 +1,181 @@
+package com.example.taskmanagement.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * Cache with a node-local Caffeine near-cache (L1) in front of a shared Redis cache (L2).
+ * Reads try L1, then L2, then the value loader. Writes and evictions go to both levels and are
+ * broadcast so that other nodes drop their L1 copy and re-read the shared value from L2.
+ * If Redis is unavailable the cache degrades to L1 only.
+ *
+ * Keys are normalized to strings so that they match in both levels and in invalidation messages.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    /**
+     * @param name the cache name
+     * @param local the node-local cache
+     * @param remote the shared cache
+     * @param invalidationPublisher broadcasts (cache name, key) invalidations; a null key clears the cache
+     */
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote,
+                         BiConsumer<String, String> invalidationPublisher) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = key.toString();
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        value = remoteGet(localKey);
+        if (value == null) {
+            return null;
+        }
+        local.put(localKey, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) local.get(key.toString(), localKey -> {
+            Object value = remoteGet(localKey);
+            if (value != null) {
+                return value;
+            }
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (value != null) {
+                remotePut(localKey, value);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String localKey = key.toString();
+        remotePut(localKey, value);
+        local.put(localKey, value);
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    /**
+     * Stores a freshly loaded value unless one is already cached. Unlike {@link #put}, no
+     * invalidation is broadcast, since other nodes can only hold the same or an older value.
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing != null || value == null) {
+            return existing;
+        }
+        String localKey = key.toString();
+        remotePut(localKey, value);
+        local.put(localKey, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = key.toString();
+        try {
+            remote.evict(localKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {} from shared cache {}", localKey, name, e);
+        }
+        local.invalidate(localKey);
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear shared cache {}", name, e);
+        }
+        local.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * Drops a key from the local cache only, in response to an invalidation from another node.
+     */
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    /**
+     * Drops all keys from the local cache only, in response to an invalidation from another node.
+     */
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private Object remoteGet(String key) {
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            return wrapper == null ? null : wrapper.get();
+        } catch (RuntimeException e) {
+            log.warn("Failed to read {} from shared cache {}", key, name, e);
+            return null;
+        }
+    }
+
+    private void remotePut(String key, Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} to shared cache {}", key, name, e);
+        }
+    }
+}
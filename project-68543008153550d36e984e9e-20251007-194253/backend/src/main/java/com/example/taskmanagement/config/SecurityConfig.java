@@ -1,5 +1,6 @@
 package com.example.taskmanagement.config;
 
+import com.example.taskmanagement.security.BoundedPasswordEncoder;
 import com.example.taskmanagement.security.JwtAuthenticationFilter;
 import com.example.taskmanagement.security.JwtAuthorizationFilter;
 import com.example.taskmanagement.security.UserDetailsServiceImpl;
@@ -70,7 +71,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     @Bean
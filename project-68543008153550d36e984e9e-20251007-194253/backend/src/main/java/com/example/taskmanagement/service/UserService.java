@@ -1,5 +1,6 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.config.CacheConfig;
 import com.example.taskmanagement.dto.UserDTO;
 import com.example.taskmanagement.exception.ResourceAlreadyExistsException;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
@@ -7,6 +8,8 @@ import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,13 +45,14 @@ public class UserService {
     }
 
     /**
-     * Retrieves a user by their ID.
+     * Retrieves a user by their ID. Results are cached on all nodes.
      *
      * @param id The user ID
      * @return UserDTO object
      * @throws ResourceNotFoundException if user is not found
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", sync = true)
     public UserDTO getUserById(String id) {
         log.debug("Fetching user with id: {}", id);
         return userRepository.findById(id)
@@ -130,6 +134,7 @@ public class UserService {
      * @throws ResourceAlreadyExistsException if email or username is taken by another user
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDTO updateUser(String id, UserDTO userDTO) {
         log.debug("Updating user with id: {}", id);
         
@@ -170,6 +175,7 @@ public class UserService {
      * @throws ResourceNotFoundException if user is not found
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteUser(String id) {
         log.debug("Deleting user with id: {}", id);
         
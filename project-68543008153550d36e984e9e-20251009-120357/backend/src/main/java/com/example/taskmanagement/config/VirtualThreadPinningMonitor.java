@@ -0,0 +1,123 @@
+package com.example.taskmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, using the JFR
+ * {@code jdk.VirtualThreadPinned} event.
+ * A virtual thread that blocks inside a {@code synchronized} block or a native frame keeps its
+ * carrier busy, so pinning on the MongoDB I/O path would cap throughput at the number of
+ * carriers. Each pinned interval longer than the threshold is recorded in the
+ * {@code jvm.threads.virtual.pinned} timer, tagged with whether the stack runs through the
+ * MongoDB driver; the stack of each distinct pinning site is logged once. A site is the first
+ * driver frame, or for other pins the first frame outside the JDK.
+ * Active only when {@code spring.threads.virtual.enabled} is true.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String MONGO_DRIVER_PACKAGE = "com.mongodb.";
+    private static final List<String> JDK_PACKAGES = List.of("java.", "jdk.", "sun.");
+    private static final int LOGGED_FRAMES = 20;
+
+    private final Duration threshold;
+    private final Timer mongoPinnedTimer;
+    private final Timer otherPinnedTimer;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.virtual-threads.pinning.threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.mongoPinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("source", "mongo-driver")
+                .register(meterRegistry);
+        this.otherPinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("source", "other")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        boolean mongoDriver = frames.stream()
+                .anyMatch(frame -> typeName(frame).startsWith(MONGO_DRIVER_PACKAGE));
+        (mongoDriver ? mongoPinnedTimer : otherPinnedTimer).record(event.getDuration());
+
+        // Log each pinning site once; the timer carries the frequency
+        String site = frames.isEmpty() ? "unknown" : describe(siteFrame(frames, mongoDriver));
+        if (reportedSites.add(site)) {
+            String stack = frames.stream()
+                    .limit(LOGGED_FRAMES)
+                    .map(frame -> "\tat " + describe(frame))
+                    .collect(Collectors.joining(System.lineSeparator()));
+            log.warn("Virtual thread pinned for {} ms{}:{}{}", event.getDuration().toMillis(),
+                    mongoDriver ? " in the MongoDB driver" : "", System.lineSeparator(), stack);
+        }
+    }
+
+    /**
+     * The top frames of a pinned stack are the JDK's park and continuation frames, which are the
+     * same for every pin, so the site is taken from further down the stack.
+     */
+    private static RecordedFrame siteFrame(List<RecordedFrame> frames, boolean mongoDriver) {
+        return frames.stream()
+                .filter(frame -> mongoDriver
+                        ? typeName(frame).startsWith(MONGO_DRIVER_PACKAGE)
+                        : JDK_PACKAGES.stream().noneMatch(typeName(frame)::startsWith))
+                .findFirst()
+                .orElse(frames.get(0));
+    }
+
+    private static String typeName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return typeName(frame) + "." + frame.getMethod().getName() + "(line " + frame.getLineNumber() + ")";
+    }
+}
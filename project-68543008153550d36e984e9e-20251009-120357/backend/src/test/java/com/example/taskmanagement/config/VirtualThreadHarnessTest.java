@@ -0,0 +1,293 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.controller.ProjectController;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.repository.OrganizationRepository;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.service.ProjectService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Harness for the platform-versus-virtual-thread comparison. The application's project endpoint
+ * runs on embedded Tomcat, once with each {@code spring.threads.virtual.enabled} setting, while
+ * 2,000 client connections request it at once. MongoDB is replaced by a stand-in repository that
+ * blocks the calling thread for a fixed latency, as the driver does. With platform threads the
+ * number of queries in flight is capped by Tomcat's request threads; with virtual threads it is
+ * not. Timings are logged rather than asserted, since they depend on the machine's cores. The
+ * pinning test checks that {@link VirtualThreadPinningMonitor} records every pin and reports each
+ * pinning site once.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class VirtualThreadHarnessTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadHarnessTest.class);
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int CONNECTIONS = 2_000;
+    private static final int CLIENT_THREADS = 4;
+    private static final Duration QUERY_LATENCY = Duration.ofMillis(200);
+    private static final String PROJECT_ID = "project-1";
+
+    /**
+     * On a CI machine with few cores, serving all connections can take longer than the
+     * application's 5 s timeout, which would drop queued connections instead of measuring them.
+     */
+    private static final String CONNECTION_TIMEOUT = "server.tomcat.connection-timeout=60s";
+
+    @Nested
+    @SpringBootTest(classes = HarnessApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.threads.virtual.enabled=false", CONNECTION_TIMEOUT})
+    class PlatformThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Value("${server.servlet.context-path:}")
+        private String contextPath;
+
+        @Autowired
+        private StandInMongo mongo;
+
+        @Test
+        void queriesInFlightAreCappedByTomcatRequestThreads() throws Exception {
+            RunResult result = run(projectUrl(port, contextPath), mongo);
+            log.info("{} connections on platform threads: {}", CONNECTIONS, result);
+
+            assertThat(result.ok()).isEqualTo(CONNECTIONS);
+            assertThat(result.maxInFlight()).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(classes = HarnessApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.threads.virtual.enabled=true", CONNECTION_TIMEOUT})
+    class VirtualThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Value("${server.servlet.context-path:}")
+        private String contextPath;
+
+        @Autowired
+        private StandInMongo mongo;
+
+        @Test
+        void queriesInFlightAreNotCappedByTomcatRequestThreads() throws Exception {
+            RunResult result = run(projectUrl(port, contextPath), mongo);
+            log.info("{} connections on virtual threads: {}", CONNECTIONS, result);
+
+            assertThat(result.ok()).isEqualTo(CONNECTIONS);
+            assertThat(result.maxInFlight()).isGreaterThan(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @Test
+    void everyPinIsRecordedAndEachSiteReportedOnce(CapturedOutput output) throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, 10);
+        monitor.start();
+        try {
+            Object lock = new Object();
+            Thread.ofVirtual().start(() -> pinAtFirstSite(lock)).join();
+            Thread.ofVirtual().start(() -> pinAtFirstSite(lock)).join();
+            Thread.ofVirtual().start(() -> pinAtSecondSite(lock)).join();
+
+            // The JFR stream delivers events in periodic batches
+            Timer timer = registry.get("jvm.threads.virtual.pinned").tag("source", "other").timer();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (timer.count() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(timer.count()).isEqualTo(3);
+            assertThat(timer.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10);
+            assertThat(output.getOut().split("Virtual thread pinned", -1)).hasSize(3);
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    // Each site sleeps in place: a shared sleep helper would be the first frame outside the JDK
+    private static void pinAtFirstSite(Object lock) {
+        synchronized (lock) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void pinAtSecondSite(Object lock) {
+        synchronized (lock) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String projectUrl(int port, String contextPath) {
+        return "http://localhost:" + port + contextPath + "/api/v1/projects/" + PROJECT_ID;
+    }
+
+    /**
+     * Sends all requests at once, each on its own connection.
+     */
+    private static RunResult run(String url, StandInMongo mongo) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger ok = new AtomicInteger();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        long start = System.nanoTime();
+        // The client runs on platform threads, so that it does not compete with the server for carriers
+        try (ExecutorService clientThreads = Executors.newFixedThreadPool(CLIENT_THREADS)) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientThreads)
+                    .build();
+            List<CompletableFuture<Void>> responses = new ArrayList<>(CONNECTIONS);
+            for (int i = 0; i < CONNECTIONS; i++) {
+                long sentAt = System.nanoTime();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .thenAccept(response -> {
+                            latencies.add(System.nanoTime() - sentAt);
+                            if (response.statusCode() == 200) {
+                                ok.incrementAndGet();
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = sorted.get((int) Math.ceil(0.99 * sorted.size()) - 1);
+        return new RunResult(ok.get(), mongo.maxInFlight(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(p99));
+    }
+
+    private record RunResult(int ok, int maxInFlight, long elapsedMillis, long p99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("ok=%d maxInFlight=%d elapsed=%dms p99=%dms", ok, maxInFlight, elapsedMillis, p99Millis);
+        }
+    }
+
+    /**
+     * Stand-in for MongoDB: repository reads block the calling thread for {@code QUERY_LATENCY},
+     * as the driver does. It takes no locks, so it cannot pin virtual threads itself.
+     */
+    static class StandInMongo {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        int maxInFlight() {
+            return maxInFlight.get();
+        }
+
+        <T> T repository(Class<T> type) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, this::invoke));
+        }
+
+        private Object invoke(Object proxy, Method method, Object[] args) throws InterruptedException {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "StandInMongo repository";
+                };
+            }
+            if (!method.getName().equals("findById")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(QUERY_LATENCY);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            Project project = new Project("Harness", "organization-1");
+            project.setId((String) args[0]);
+            return Optional.of(project);
+        }
+    }
+
+    /**
+     * The project endpoint on embedded Tomcat and Spring MVC, with the MongoDB stand-in and
+     * without security.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({ProjectController.class, ProjectService.class})
+    static class HarnessApplication {
+
+        @Bean
+        StandInMongo standInMongo() {
+            return new StandInMongo();
+        }
+
+        @Bean
+        ProjectRepository projectRepository(StandInMongo mongo) {
+            return mongo.repository(ProjectRepository.class);
+        }
+
+        @Bean
+        OrganizationRepository organizationRepository(StandInMongo mongo) {
+            return mongo.repository(OrganizationRepository.class);
+        }
+    }
+}
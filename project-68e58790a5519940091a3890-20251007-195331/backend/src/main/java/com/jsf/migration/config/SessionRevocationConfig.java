@@ -0,0 +1,22 @@
+package com.jsf.migration.config;
+
+import com.jsf.migration.security.LocalSessionRevocationBroadcaster;
+import com.jsf.migration.security.SessionRevocationBroadcaster;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Session revocation configuration.
+ * Falls back to the in-process broadcaster when no other {@link SessionRevocationBroadcaster}
+ * is defined.
+ */
+@Configuration
+public class SessionRevocationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(SessionRevocationBroadcaster.class)
+    public SessionRevocationBroadcaster sessionRevocationBroadcaster() {
+        return new LocalSessionRevocationBroadcaster();
+    }
+}
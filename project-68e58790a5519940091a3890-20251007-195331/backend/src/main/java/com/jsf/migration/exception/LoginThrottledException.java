@@ -0,0 +1,28 @@
+package com.jsf.migration.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a login is refused without checking the credentials, either because
+ * the password hashing pool is saturated or because the client or account has too many
+ * recent failed attempts.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param message the detail message
+     * @param retryAfter how long the client should wait before trying again
+     */
+    public LoginThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jsf.migration.security;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process revocation broadcaster for single-node deployments and tests.
+ * Revocations are delivered synchronously to the listeners registered in this JVM; several
+ * {@link SessionCache} instances sharing one broadcaster behave like separate nodes.
+ * Registered by {@link com.jsf.migration.config.SessionRevocationConfig} unless the application
+ * defines its own broadcaster, as multi-node deployments do with one backed by a shared message
+ * transport.
+ */
+public class LocalSessionRevocationBroadcaster implements SessionRevocationBroadcaster {
+
+    private final List<Consumer<SessionRevocation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(SessionRevocation revocation) {
+        listeners.forEach(listener -> listener.accept(revocation));
+    }
+
+    @Override
+    public void subscribe(Consumer<SessionRevocation> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,118 @@
+package com.jsf.migration.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jsf.migration.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts failed logins per client IP address and per username.
+ * Once either count reaches its limit, further logins for that IP or username are refused
+ * before any database lookup or password hashing, until the failure window of the first failed
+ * attempt has passed. A successful login resets the username's count.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptLimiter.class);
+
+    private final int maxFailuresPerIp;
+    private final int maxFailuresPerUsername;
+    private final Duration failureWindow;
+    private final Cache<String, AtomicInteger> failuresByIp;
+    private final Cache<String, AtomicInteger> failuresByUsername;
+    private final Counter ipThrottledCounter;
+    private final Counter usernameThrottledCounter;
+
+    public LoginAttemptLimiter(MeterRegistry meterRegistry,
+                               @Value("${security.login.max-failures-per-ip:50}") int maxFailuresPerIp,
+                               @Value("${security.login.max-failures-per-username:5}") int maxFailuresPerUsername,
+                               @Value("${security.login.failure-window-minutes:15}") long failureWindowMinutes,
+                               @Value("${security.login.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.failureWindow = Duration.ofMinutes(failureWindowMinutes);
+        this.failuresByIp = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(failureWindow)
+                .build();
+        this.failuresByUsername = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(failureWindow)
+                .build();
+
+        this.ipThrottledCounter = Counter.builder("login.throttled")
+                .description("Logins refused because of too many recent failures")
+                .tag("reason", "ip")
+                .register(meterRegistry);
+        this.usernameThrottledCounter = Counter.builder("login.throttled")
+                .description("Logins refused because of too many recent failures")
+                .tag("reason", "username")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a login may proceed.
+     *
+     * @param username the username being logged in
+     * @param ipAddress the IP address of the client
+     * @throws LoginThrottledException if the IP address or username has too many recent failures
+     */
+    public void checkAllowed(String username, String ipAddress) {
+        if (exceeds(failuresByIp, ipAddress, maxFailuresPerIp)) {
+            ipThrottledCounter.increment();
+            logger.warn("Refusing login from {}: too many failed attempts", ipAddress);
+            throw new LoginThrottledException("Too many failed login attempts", failureWindow);
+        }
+        if (exceeds(failuresByUsername, normalize(username), maxFailuresPerUsername)) {
+            usernameThrottledCounter.increment();
+            logger.warn("Refusing login for user {}: too many failed attempts", username);
+            throw new LoginThrottledException("Too many failed login attempts", failureWindow);
+        }
+    }
+
+    /**
+     * Records a failed login.
+     *
+     * @param username the username being logged in
+     * @param ipAddress the IP address of the client
+     */
+    public void recordFailure(String username, String ipAddress) {
+        if (ipAddress != null) {
+            failuresByIp.get(ipAddress, key -> new AtomicInteger()).incrementAndGet();
+        }
+        if (username != null) {
+            failuresByUsername.get(normalize(username), key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a successful login, clearing the failures of the username.
+     *
+     * @param username the username that logged in
+     */
+    public void recordSuccess(String username) {
+        failuresByUsername.invalidate(normalize(username));
+    }
+
+    private boolean exceeds(Cache<String, AtomicInteger> failures, String key, int limit) {
+        if (key == null) {
+            return false;
+        }
+        AtomicInteger count = failures.getIfPresent(key);
+        return count != null && count.get() >= limit;
+    }
+
+    private String normalize(String username) {
+        return username == null ? null : username.toLowerCase();
+    }
+}
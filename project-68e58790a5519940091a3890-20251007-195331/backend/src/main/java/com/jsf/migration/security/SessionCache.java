@@ -0,0 +1,145 @@
+package com.jsf.migration.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jsf.migration.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of validated sessions, keyed by session token.
+ * A hit serves the session and its user without the two MongoDB lookups of a validation; each
+ * entry expires at the session's own expiry time. Evictions are sent through the
+ * {@link SessionRevocationBroadcaster} so that every node drops the session, and callers must
+ * evict only after the session has been removed from MongoDB. Cache hits and misses are
+ * published as the {@code cache.gets} metric with {@code cache=sessions}.
+ */
+@Component
+public class SessionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCache.class);
+
+    /**
+     * How long a revocation of all of a user's sessions is remembered, to discard entries that
+     * were being loaded while the sessions were deleted.
+     */
+    private static final Duration USER_REVOCATION_WINDOW = Duration.ofMinutes(1);
+
+    /**
+     * A validated session as returned by the loader.
+     *
+     * @param user the user the session belongs to
+     * @param expiresAt when the session expires
+     */
+    public record Entry(User user, Instant expiresAt) {
+    }
+
+    private record CachedSession(Entry entry, Instant loadedAt) {
+    }
+
+    private final SessionRevocationBroadcaster broadcaster;
+    private final Cache<String, CachedSession> sessions;
+    private final Cache<String, Instant> userRevocations;
+
+    public SessionCache(SessionRevocationBroadcaster broadcaster,
+                        MeterRegistry meterRegistry,
+                        @Value("${session.cache.maximum-size:100000}") long maximumSize) {
+        this.broadcaster = broadcaster;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, CachedSession>() {
+                    @Override
+                    public long expireAfterCreate(String token, CachedSession session, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), session.entry().expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, CachedSession session, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(token, session, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, CachedSession session, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.userRevocations = Caffeine.newBuilder()
+                .expireAfterWrite(USER_REVOCATION_WINDOW)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "sessions");
+        broadcaster.subscribe(this::onRevocation);
+    }
+
+    /**
+     * Returns the user of a session, loading and caching the session if it is not cached.
+     *
+     * @param token the session token
+     * @param loader validates the session against the database; throws if it is invalid or expired
+     * @return the user the session belongs to
+     */
+    public User get(String token, Function<String, Entry> loader) {
+        Function<String, CachedSession> timedLoader = key -> {
+            Instant loadedAt = Instant.now();
+            return new CachedSession(loader.apply(key), loadedAt);
+        };
+
+        CachedSession cached = sessions.get(token, timedLoader);
+        Instant revokedAt = userRevocations.getIfPresent(cached.entry().user().getUserId());
+        if (revokedAt != null && cached.loadedAt().isBefore(revokedAt)) {
+            // Loaded while the user's sessions were being deleted; validate again
+            sessions.asMap().remove(token, cached);
+            cached = sessions.get(token, timedLoader);
+        }
+        return cached.entry().user();
+    }
+
+    /**
+     * Evicts a session on every node.
+     *
+     * @param token the session token
+     */
+    public void evict(String token) {
+        sessions.invalidate(token);
+        broadcaster.publish(SessionRevocation.ofToken(token));
+    }
+
+    /**
+     * Evicts every session of a user on every node.
+     *
+     * @param userId the ID of the user
+     */
+    public void evictUser(String userId) {
+        evictUserLocally(userId);
+        broadcaster.publish(SessionRevocation.ofUser(userId));
+    }
+
+    private void onRevocation(SessionRevocation revocation) {
+        if (revocation.token() != null) {
+            sessions.invalidate(revocation.token());
+        }
+        if (revocation.userId() != null) {
+            evictUserLocally(revocation.userId());
+        }
+    }
+
+    private void evictUserLocally(String userId) {
+        userRevocations.put(userId, Instant.now());
+        sessions.asMap().values().removeIf(session -> userId.equals(session.entry().user().getUserId()));
+        logger.debug("Evicted cached sessions of user: {}", userId);
+    }
+}
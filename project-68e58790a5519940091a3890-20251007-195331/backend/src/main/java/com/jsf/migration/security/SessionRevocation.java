@@ -0,0 +1,31 @@
+package com.jsf.migration.security;
+
+/**
+ * A notice that cached session state must be dropped, either for a single session token
+ * or for every session of a user.
+ *
+ * @param token the revoked session token, or null when all sessions of the user are revoked
+ * @param userId the user whose sessions are revoked, or null when a single token is revoked
+ */
+public record SessionRevocation(String token, String userId) {
+
+    /**
+     * Creates a revocation of a single session.
+     *
+     * @param token the session token
+     * @return the revocation
+     */
+    public static SessionRevocation ofToken(String token) {
+        return new SessionRevocation(token, null);
+    }
+
+    /**
+     * Creates a revocation of every session of a user.
+     *
+     * @param userId the ID of the user
+     * @return the revocation
+     */
+    public static SessionRevocation ofUser(String userId) {
+        return new SessionRevocation(null, userId);
+    }
+}
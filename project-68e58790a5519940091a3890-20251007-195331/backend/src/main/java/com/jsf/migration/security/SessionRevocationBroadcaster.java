@@ -0,0 +1,24 @@
+package com.jsf.migration.security;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers session revocations to every application node, so that a logout or password
+ * change on one node also evicts the session from the caches of the others.
+ */
+public interface SessionRevocationBroadcaster {
+
+    /**
+     * Sends a revocation to all nodes, including this one.
+     *
+     * @param revocation the revocation to send
+     */
+    void publish(SessionRevocation revocation);
+
+    /**
+     * Registers a listener for revocations published by any node.
+     *
+     * @param listener the listener
+     */
+    void subscribe(Consumer<SessionRevocation> listener);
+}
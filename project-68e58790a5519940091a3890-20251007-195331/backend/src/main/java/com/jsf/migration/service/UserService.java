@@ -1,6 +1,7 @@
 package com.jsf.migration.service;
 
 import com.jsf.migration.exception.AuthenticationException;
+import com.jsf.migration.exception.LoginThrottledException;
 import com.jsf.migration.exception.ResourceNotFoundException;
 import com.jsf.migration.exception.ValidationException;
 import com.jsf.migration.model.Session;
@@ -10,7 +11,10 @@ import com.jsf.migration.repository.UserRepository;
 import com.jsf.migration.dto.UserDTO;
 import com.jsf.migration.dto.UserProfileDTO;
 import com.jsf.migration.dto.PasswordChangeDTO;
+import com.jsf.migration.security.LoginAttemptLimiter;
 import com.jsf.migration.security.PasswordEncoder;
+import com.jsf.migration.security.PasswordHashingExecutor;
+import com.jsf.migration.security.SessionCache;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +40,9 @@ public class UserService {
     private final UserRepository userRepository;
     private final SessionRepository sessionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SessionCache sessionCache;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     
     @Value("${session.expiration.minutes:60}")
     private int sessionExpirationMinutes;
@@ -43,10 +50,16 @@ public class UserService {
     @Autowired
     public UserService(UserRepository userRepository, 
                        SessionRepository sessionRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       SessionCache sessionCache,
+                       PasswordHashingExecutor passwordHashingExecutor,
+                       LoginAttemptLimiter loginAttemptLimiter) {
         this.userRepository = userRepository;
         this.sessionRepository = sessionRepository;
         this.passwordEncoder = passwordEncoder;
+        this.sessionCache = sessionCache;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginAttemptLimiter = loginAttemptLimiter;
     }
     
     /**
@@ -73,7 +86,7 @@ public class UserService {
         User user = new User();
         user.setUsername(userDTO.getUsername());
         user.setEmail(userDTO.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(userDTO.getPassword()));
+        user.setPasswordHash(passwordHashingExecutor.execute(() -> passwordEncoder.encode(userDTO.getPassword())));
         
         // Set up profile information
         user.getProfile().setFirstName(userDTO.getFirstName());
@@ -96,18 +109,27 @@ public class UserService {
      * @param userAgent the user agent of the client
      * @return the created session
      * @throws AuthenticationException if authentication fails
+     * @throws LoginThrottledException if the login is refused without checking the credentials
      */
     @Transactional
     public Session authenticateUser(String username, String password, String ipAddress, String userAgent) {
         logger.debug("Authenticating user: {}", username);
         
+        // Refuse clients and accounts with too many recent failures before any lookup or hashing
+        loginAttemptLimiter.checkAllowed(username, ipAddress);
+        
         User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new AuthenticationException("Invalid username or password"));
+                .orElseThrow(() -> {
+                    loginAttemptLimiter.recordFailure(username, ipAddress);
+                    return new AuthenticationException("Invalid username or password");
+                });
         
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashingExecutor.execute(() -> passwordEncoder.matches(password, user.getPasswordHash()))) {
             logger.warn("Failed login attempt for user: {}", username);
+            loginAttemptLimiter.recordFailure(username, ipAddress);
             throw new AuthenticationException("Invalid username or password");
         }
+        loginAttemptLimiter.recordSuccess(username);
         
         // Update last login time
         user.getProfile().setLastLogin(LocalDateTime.now());
@@ -130,24 +152,39 @@ public class UserService {
     
     /**
      * Validates a session token.
+     * Valid sessions are cached until they expire, so only the first request of a session
+     * reads the session and the user from the database. The returned user is shared by the
+     * requests of the session and must not be modified.
      *
      * @param token the session token to validate
      * @return the user associated with the session
      * @throws AuthenticationException if the session is invalid or expired
      */
     public User validateSession(String token) {
+        return sessionCache.get(token, this::loadSession);
+    }
+    
+    /**
+     * Validates a session token against the database.
+     *
+     * @param token the session token to validate
+     * @return the session's user and expiry time
+     * @throws AuthenticationException if the session is invalid or expired
+     */
+    private SessionCache.Entry loadSession(String token) {
         logger.debug("Validating session token");
         
         Session session = sessionRepository.findByToken(token)
                 .orElseThrow(() -> new AuthenticationException("Invalid session"));
         
-        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+        if (session.isExpired()) {
             logger.warn("Expired session attempt: {}", session.getSessionId());
             throw new AuthenticationException("Session expired");
         }
         
-        return userRepository.findById(session.getUserId())
+        User user = userRepository.findById(session.getUserId())
                 .orElseThrow(() -> new AuthenticationException("User not found"));
+        return new SessionCache.Entry(user, session.getExpiresAt());
     }
     
     /**
@@ -163,6 +200,7 @@ public class UserService {
             sessionRepository.delete(session);
             logger.info("User logged out successfully: {}", session.getUserId());
         });
+        sessionCache.evict(token);
     }
     
     /**
@@ -192,6 +230,9 @@ public class UserService {
         User updatedUser = userRepository.save(user);
         logger.info("User profile updated successfully: {}", userId);
         
+        // Cached sessions hold the user, including the role used for authorization
+        sessionCache.evictUser(userId);
+        
         return updatedUser;
     }
     
@@ -210,17 +251,20 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         // Verify current password
-        if (!passwordEncoder.matches(passwordChangeDTO.getCurrentPassword(), user.getPasswordHash())) {
+        if (!passwordHashingExecutor.execute(
+                () -> passwordEncoder.matches(passwordChangeDTO.getCurrentPassword(), user.getPasswordHash()))) {
             logger.warn("Failed password change attempt for user: {}", userId);
             throw new AuthenticationException("Current password is incorrect");
         }
         
         // Update password
-        user.setPasswordHash(passwordEncoder.encode(passwordChangeDTO.getNewPassword()));
+        user.setPasswordHash(passwordHashingExecutor.execute(
+                () -> passwordEncoder.encode(passwordChangeDTO.getNewPassword())));
         userRepository.save(user);
         
         // Invalidate all existing sessions for security
         sessionRepository.deleteAllByUserId(userId);
+        sessionCache.evictUser(userId);
         
         logger.info("Password changed successfully for user: {}", userId);
     }
@@ -282,6 +326,7 @@ public class UserService {
         
         // Delete all sessions for the user
         sessionRepository.deleteAllByUserId(userId);
+        sessionCache.evictUser(userId);
         
         // Delete the user
         userRepository.deleteById(userId);
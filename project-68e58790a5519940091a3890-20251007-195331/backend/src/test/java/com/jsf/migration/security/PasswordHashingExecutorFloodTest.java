@@ -0,0 +1,202 @@
+package com.jsf.migration.security;
+
+import com.jsf.migration.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login-flood harness for {@link PasswordHashingExecutor}: a burst of BCrypt logins shares the
+ * request threads with ordinary API requests, once verifying on the bounded pool and once directly
+ * on the request threads as before. Login and API latency percentiles of both runs are logged for
+ * comparison; the assertions only check the admission bounds and that every API request is
+ * served, so the test stays stable on slow machines.
+ */
+class PasswordHashingExecutorFloodTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutorFloodTest.class);
+
+    private static final int WORKERS = 2;
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int REQUEST_THREADS = 32;
+    private static final int LOGINS = 320;
+    private static final int API_REQUESTS = 80;
+    private static final Duration API_LATENCY = Duration.ofMillis(2);
+
+    private final List<PasswordHashingExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(PasswordHashingExecutor::shutdown);
+    }
+
+    @Test
+    void floodAdmitsAtMostWorkersPlusQueueAndRefusesTheRest() throws Exception {
+        PasswordHashingExecutor hashing = newExecutor(5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        ExecutorService requests = Executors.newFixedThreadPool(20);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(requests.submit(() -> {
+                try {
+                    return hashing.execute(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        await(release);
+                        running.decrementAndGet();
+                        return true;
+                    });
+                } catch (LoginThrottledException e) {
+                    refused.incrementAndGet();
+                    return false;
+                }
+            }));
+        }
+
+        // Refusals are immediate, so every request beyond the pool's capacity is refused before any hash completes
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (refused.get() < 20 - WORKERS - QUEUE_CAPACITY && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        int admitted = 0;
+        for (Future<Boolean> result : results) {
+            admitted += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        requests.shutdown();
+
+        assertThat(admitted).isEqualTo(WORKERS + QUEUE_CAPACITY);
+        assertThat(refused).hasValue(20 - WORKERS - QUEUE_CAPACITY);
+        assertThat(maxRunning).hasValue(WORKERS);
+    }
+
+    @Test
+    void loginFloodOnTheBoundedPoolVersusRequestThreads() throws Exception {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(8);
+        String hash = encoder.encode("secret");
+        PasswordHashingExecutor hashing = newExecutor(10_000);
+
+        FloodResult direct = flood(() -> encoder.matches("secret", hash));
+        FloodResult pooled = flood(() -> hashing.execute(() -> encoder.matches("secret", hash)));
+
+        logger.info("Login flood, {} logins and {} API requests on {} request threads, BCrypt cost 8",
+                LOGINS, API_REQUESTS, REQUEST_THREADS);
+        logger.info("  request threads: {}", direct);
+        logger.info("  bounded pool:    {}", pooled);
+
+        assertThat(direct.refused()).isZero();
+        assertThat(pooled.admitted()).isPositive();
+        assertThat(pooled.admitted() + pooled.refused()).isEqualTo(LOGINS);
+        assertThat(direct.apiServed()).isEqualTo(API_REQUESTS);
+        assertThat(pooled.apiServed()).isEqualTo(API_REQUESTS);
+    }
+
+    /**
+     * Submits the logins to a shared pool of request threads, with a non-login API request after
+     * every {@code LOGINS / API_REQUESTS} logins. Latencies are measured from submission, so they
+     * include the time a request waits for a free request thread.
+     */
+    private FloodResult flood(Supplier<Boolean> login) throws Exception {
+        List<Long> loginLatencies = Collections.synchronizedList(new ArrayList<>());
+        List<Long> apiLatencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger refused = new AtomicInteger();
+
+        ExecutorService requests = Executors.newFixedThreadPool(REQUEST_THREADS);
+        List<Future<?>> done = new ArrayList<>();
+        for (int i = 0; i < LOGINS; i++) {
+            long loginSubmitted = System.nanoTime();
+            done.add(requests.submit(() -> {
+                try {
+                    assertThat(login.get()).isTrue();
+                    loginLatencies.add(System.nanoTime() - loginSubmitted);
+                } catch (LoginThrottledException e) {
+                    refused.incrementAndGet();
+                }
+            }));
+            if (i % (LOGINS / API_REQUESTS) == 0) {
+                long apiSubmitted = System.nanoTime();
+                done.add(requests.submit(() -> {
+                    apiRequest();
+                    apiLatencies.add(System.nanoTime() - apiSubmitted);
+                }));
+            }
+        }
+        for (Future<?> future : done) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        requests.shutdown();
+
+        List<Long> sortedLogins = new ArrayList<>(loginLatencies);
+        Collections.sort(sortedLogins);
+        List<Long> sortedApi = new ArrayList<>(apiLatencies);
+        Collections.sort(sortedApi);
+        return new FloodResult(sortedLogins.size(), refused.get(), percentile(sortedLogins, 0.50),
+                percentile(sortedLogins, 0.99), sortedApi.size(), percentile(sortedApi, 0.99));
+    }
+
+    /**
+     * A non-login request: a short database round trip.
+     */
+    private static void apiRequest() {
+        try {
+            Thread.sleep(API_LATENCY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private PasswordHashingExecutor newExecutor(long timeoutMillis) {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(
+                new SimpleMeterRegistry(), WORKERS, QUEUE_CAPACITY, timeoutMillis);
+        executors.add(executor);
+        return executor;
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, index)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record FloodResult(int admitted, int refused, long p50Millis, long p99Millis,
+                               int apiServed, long apiP99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("admitted=%d refused=%d login p50=%dms p99=%dms, api served=%d p99=%dms",
+                    admitted, refused, p50Millis, p99Millis, apiServed, apiP99Millis);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.jsf.migration.security;
+
+import com.jsf.migration.model.Session;
+import com.jsf.migration.model.User;
+import com.jsf.migration.repository.SessionRepository;
+import com.jsf.migration.repository.UserRepository;
+import com.jsf.migration.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two caches sharing one {@link LocalSessionRevocationBroadcaster} stand in for two nodes.
+ */
+class SessionCacheTest {
+
+    private static final Duration SESSION_LIFETIME = Duration.ofHours(1);
+    private static final int REQUESTS = 100;
+
+    private LocalSessionRevocationBroadcaster broadcaster;
+    private SessionCache first;
+    private SessionCache second;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new LocalSessionRevocationBroadcaster();
+        first = newNode();
+        second = newNode();
+    }
+
+    @Test
+    void cachedSessionIsServedWithoutLoading() {
+        User user = user("user-1");
+
+        assertThat(first.get("token-1", loader(user))).isSameAs(user);
+        assertThat(first.get("token-1", loader(user))).isSameAs(user);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void repeatedValidationsReadTheSessionAndUserOncePerCachedSession() {
+        SessionRepository sessionRepository = mock(SessionRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        User user = user("user-1");
+        Session session = new Session("user-1", "token-1", "127.0.0.1", "test", Instant.now().plus(SESSION_LIFETIME));
+        when(sessionRepository.findByToken("token-1")).thenReturn(Optional.of(session));
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        UserService userService = new UserService(userRepository, sessionRepository, mock(PasswordEncoder.class),
+                first, mock(PasswordHashingExecutor.class), mock(LoginAttemptLimiter.class));
+
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(userService.validateSession("token-1")).isSameAs(user);
+        }
+        // Uncached, each request read the session and then its user: 2 * REQUESTS lookups
+        verify(sessionRepository, times(1)).findByToken("token-1");
+        verify(userRepository, times(1)).findById("user-1");
+
+        first.evict("token-1");
+        for (int i = 0; i < REQUESTS; i++) {
+            userService.validateSession("token-1");
+        }
+        verify(sessionRepository, times(2)).findByToken("token-1");
+        verify(userRepository, times(2)).findById("user-1");
+    }
+
+    @Test
+    void evictedTokenIsDroppedOnEveryNode() {
+        User user = user("user-1");
+        first.get("token-1", loader(user));
+        second.get("token-1", loader(user));
+
+        first.evict("token-1");
+
+        first.get("token-1", loader(user));
+        second.get("token-1", loader(user));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void evictedUserLosesAllSessionsOnEveryNodeAndOtherUsersKeepTheirs() {
+        User user = user("user-1");
+        User other = user("user-2");
+        second.get("token-1", loader(user));
+        second.get("token-2", loader(user));
+        second.get("token-3", loader(other));
+
+        first.evictUser("user-1");
+
+        second.get("token-1", loader(user));
+        second.get("token-2", loader(user));
+        second.get("token-3", loader(other));
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void invalidSessionIsNotCached() {
+        Function<String, SessionCache.Entry> rejecting = token -> {
+            loads.incrementAndGet();
+            throw new IllegalArgumentException("Invalid session");
+        };
+
+        assertThatThrownBy(() -> first.get("token-1", rejecting)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> first.get("token-1", rejecting)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void sessionIsNotServedAfterItExpires() {
+        User user = user("user-1");
+        Function<String, SessionCache.Entry> expired = token -> {
+            loads.incrementAndGet();
+            return new SessionCache.Entry(user, Instant.now().minusSeconds(1));
+        };
+
+        first.get("token-1", expired);
+        first.get("token-1", expired);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void sessionLoadedWhileTheUserIsRevokedIsValidatedAgain() {
+        User stale = user("user-1");
+        User current = user("user-1");
+        AtomicInteger attempts = new AtomicInteger();
+        Function<String, SessionCache.Entry> racing = token -> {
+            if (attempts.incrementAndGet() == 1) {
+                // Another node deletes the user's sessions after this load has read them
+                second.evictUser("user-1");
+                return entry(stale);
+            }
+            return entry(current);
+        };
+
+        assertThat(first.get("token-1", racing)).isSameAs(current);
+        assertThat(attempts).hasValue(2);
+    }
+
+    private SessionCache newNode() {
+        return new SessionCache(broadcaster, new SimpleMeterRegistry(), 1_000);
+    }
+
+    private Function<String, SessionCache.Entry> loader(User user) {
+        return token -> {
+            loads.incrementAndGet();
+            return entry(user);
+        };
+    }
+
+    private static SessionCache.Entry entry(User user) {
+        return new SessionCache.Entry(user, Instant.now().plus(SESSION_LIFETIME));
+    }
+
+    private static User user(String userId) {
+        User user = new User(userId, userId + "@example.com", "hash");
+        user.setUserId(userId);
+        return user;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.OrderItemDTO;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test data shared by the benchmarks.
+ * Data is generated deterministically so that runs are comparable.
+ */
+final class BenchmarkFixtures {
+
+    static final String USER_ID = "user-1";
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * @return an ObjectMapper configured like the one Spring Boot creates for the application
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put("color", i % 2 == 0 ? "red" : "blue");
+            attributes.put("size", "M");
+            attributes.put("material", "cotton");
+            products.add(Product.builder()
+                    .id("product-" + i)
+                    .sku("SKU-" + i)
+                    .name("Product " + i)
+                    .description("A reasonably long description of product " + i + " ".repeat(20)
+                            + "with details that listings do not need.")
+                    .price(BigDecimal.valueOf(1999 + i, 2))
+                    .category("Clothing")
+                    .subcategory("Shirts")
+                    .attributes(attributes)
+                    .images(new ArrayList<>(List.of("https://cdn.example.com/p/" + i + "/1.jpg",
+                            "https://cdn.example.com/p/" + i + "/2.jpg",
+                            "https://cdn.example.com/p/" + i + "/3.jpg")))
+                    .tags(new ArrayList<>(List.of("summer", "casual", "new")))
+                    .stockLevel(i % 7)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build());
+        }
+        return products;
+    }
+
+    static List<Order> orders(int count, int itemsPerOrder) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<Order.OrderItem> items = new ArrayList<>(itemsPerOrder);
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (int j = 0; j < itemsPerOrder; j++) {
+                Order.OrderItem item = new Order.OrderItem();
+                item.setProductId("product-" + j);
+                item.setSku("SKU-" + j);
+                item.setName("Product " + j);
+                item.setQuantity(1 + j % 3);
+                item.setUnitPrice(BigDecimal.valueOf(1999 + j, 2));
+                item.setSubtotal(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+                items.add(item);
+                subtotal = subtotal.add(item.getSubtotal());
+            }
+
+            Order order = new Order();
+            order.setId("order-" + i);
+            order.setOrderNumber("ORD-20250101-" + Integer.toString(100000 + i, 36).toUpperCase());
+            order.setUserId(USER_ID);
+            order.setStatus("PENDING");
+            order.setItems(items);
+            order.setSubtotal(subtotal);
+            order.setTax(BigDecimal.ZERO);
+            order.setShippingCost(BigDecimal.ZERO);
+            order.setTotal(subtotal);
+            order.setCurrency("USD");
+            order.setCreatedAt(CREATED_AT);
+            order.setUpdatedAt(CREATED_AT);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * @return a cart with one line item for each of the first {@code items} products from {@link #products}
+     */
+    static List<OrderItemDTO> cart(int items) {
+        List<OrderItemDTO> cart = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            OrderItemDTO item = new OrderItemDTO();
+            item.setProductId("product-" + i);
+            item.setQuantity(1 + i % 3);
+            cart.add(item);
+        }
+        return cart;
+    }
+}
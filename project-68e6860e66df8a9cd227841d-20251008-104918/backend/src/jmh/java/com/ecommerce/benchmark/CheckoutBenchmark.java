@@ -0,0 +1,100 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.OrderItemDTO;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout latency by cart size: the batched {@link OrderService#createOrder} against the
+ * per-item loop it replaced, which looked up, checked and reserved each product in turn. Both run
+ * over the same in-memory repositories, where every database call waits for a simulated round
+ * trip, so the difference is the number of round trips. Sample mode reports the p50 and p99 of
+ * each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CheckoutBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int cartSize;
+
+    @Param({"250"})
+    private int roundTripMicros;
+
+    private InMemoryRepositories repositories;
+    private OrderService orderService;
+    private List<OrderItemDTO> cart;
+
+    @Setup
+    public void setUp() {
+        repositories = new InMemoryRepositories(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros)))
+                .seed(BenchmarkFixtures.products(cartSize));
+        orderService = repositories.orderService();
+        cart = BenchmarkFixtures.cart(cartSize);
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() {
+        repositories.restock();
+    }
+
+    @Benchmark
+    public Order batched() {
+        return orderService.createOrder(BenchmarkFixtures.USER_ID, cart);
+    }
+
+    /**
+     * The checkout as it was before batching: three round trips per line item, then the order insert.
+     */
+    @Benchmark
+    public Order perItem() {
+        repositories.userRepository.findById(BenchmarkFixtures.USER_ID).orElseThrow();
+
+        List<Order.OrderItem> items = new ArrayList<>(cart.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItemDTO line : cart) {
+            Product product = repositories.productRepository.findById(line.getProductId()).orElseThrow();
+            int available = repositories.inventoryReservationRepository.findAvailable(Set.of(product.getId()))
+                    .getOrDefault(product.getId(), 0);
+            if (available < line.getQuantity()
+                    || repositories.inventoryReservationRepository.reserve(product.getId(), line.getQuantity()).isEmpty()) {
+                throw new IllegalStateException("Out of stock: " + product.getId());
+            }
+
+            Order.OrderItem item = new Order.OrderItem();
+            item.setProductId(product.getId());
+            item.setSku(product.getSku());
+            item.setName(product.getName());
+            item.setQuantity(line.getQuantity());
+            item.setUnitPrice(product.getPrice());
+            item.setSubtotal(product.getPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+            items.add(item);
+            total = total.add(item.getSubtotal());
+        }
+
+        Order order = new Order();
+        order.setUserId(BenchmarkFixtures.USER_ID);
+        order.setStatus("PENDING");
+        order.setItems(items);
+        order.setTotal(total);
+        return repositories.orderRepository.save(order);
+    }
+}
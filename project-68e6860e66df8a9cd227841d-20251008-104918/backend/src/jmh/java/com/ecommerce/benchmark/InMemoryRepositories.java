@@ -0,0 +1,322 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OrderStatus;
+import com.ecommerce.model.OutboxEvent;
+import com.ecommerce.model.Product;
+import com.ecommerce.model.User;
+import com.ecommerce.model.UserOrderSummary;
+import com.ecommerce.order.OrderNumberGenerator;
+import com.ecommerce.order.SnowflakeOrderNumberGenerator;
+import com.ecommerce.repository.InventoryRepository;
+import com.ecommerce.repository.InventoryReservationRepository;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.OutboxEventRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.SchedulerLeaseRepository;
+import com.ecommerce.repository.UserOrderSummaryRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.service.InventoryReservationService;
+import com.ecommerce.service.LowStockMonitor;
+import com.ecommerce.service.OrderService;
+import com.ecommerce.service.TransactionRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for the repositories behind {@link OrderService}, so that benchmarks run the
+ * service as it is without a database. Each repository call, and each transaction commit, can
+ * wait for a simulated database round trip; with no round trip only the application code is
+ * measured.
+ */
+final class InMemoryRepositories {
+
+    static final int STOCK_PER_PRODUCT = 1_000_000;
+
+    private static final ApplicationEventPublisher NO_EVENTS = event -> {
+    };
+
+    final Map<String, User> users = new ConcurrentHashMap<>();
+    final Map<String, Product> products = new ConcurrentHashMap<>();
+    final Map<String, Order> orders = new ConcurrentHashMap<>();
+    final Map<String, UserOrderSummary> summaries = new ConcurrentHashMap<>();
+    final Map<String, Integer> available = new ConcurrentHashMap<>();
+
+    private final long roundTripNanos;
+    private final AtomicLong orderIds = new AtomicLong();
+
+    final UserRepository userRepository;
+    final ProductRepository productRepository;
+    final OrderRepository orderRepository;
+    final InventoryRepository inventoryRepository;
+    final InventoryReservationRepository inventoryReservationRepository = new Inventory();
+    final UserOrderSummaryRepository userOrderSummaryRepository = new Summaries();
+    final OutboxEventRepository outboxEventRepository = new Outbox();
+    final SchedulerLeaseRepository leaseRepository = new Leases();
+
+    InMemoryRepositories(Duration roundTrip) {
+        this.roundTripNanos = roundTrip.toNanos();
+        this.userRepository = repository(UserRepository.class, users, User::getId, null);
+        this.productRepository = repository(ProductRepository.class, products, Product::getId, null);
+        this.orderRepository = repository(OrderRepository.class, orders, Order::getId,
+                (order, id) -> order.setId(id));
+        // Stock lives in the reservation repository; this one is only used by order status updates
+        this.inventoryRepository = repository(InventoryRepository.class, Map.of(), entity -> null, null);
+    }
+
+    /**
+     * Adds the benchmark user, its order summary and the given products with ample stock.
+     */
+    InMemoryRepositories seed(List<Product> catalog) {
+        User user = new User("benchmark", "benchmark@example.com", "hash");
+        user.setId(BenchmarkFixtures.USER_ID);
+        users.put(user.getId(), user);
+        summaries.put(user.getId(), UserOrderSummary.builder().userId(user.getId()).build());
+        catalog.forEach(product -> products.put(product.getId(), product));
+        restock();
+        return this;
+    }
+
+    /**
+     * Resets every product to {@link #STOCK_PER_PRODUCT} available units and drops created orders.
+     */
+    void restock() {
+        products.keySet().forEach(id -> available.put(id, STOCK_PER_PRODUCT));
+        orders.clear();
+    }
+
+    OrderService orderService() {
+        LowStockMonitor lowStockMonitor = new LowStockMonitor(inventoryReservationRepository, NO_EVENTS, 10);
+        InventoryReservationService inventoryReservationService = new InventoryReservationService(
+                inventoryReservationRepository, leaseRepository, lowStockMonitor, List.of(), 50, 8, Duration.ofSeconds(30));
+        return new OrderService(orderRepository, userRepository, productRepository, inventoryRepository,
+                inventoryReservationService, lowStockMonitor, userOrderSummaryRepository, orderNumberGenerator(),
+                outboxEventRepository, new TransactionRunner(new Transactions(), 1, Duration.ZERO), NO_EVENTS);
+    }
+
+    OrderNumberGenerator orderNumberGenerator() {
+        return new SnowflakeOrderNumberGenerator(1L, leaseRepository, Duration.ofSeconds(60));
+    }
+
+    void roundTrip() {
+        if (roundTripNanos > 0) {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+    }
+
+    /**
+     * A Spring Data repository over a map. Supports the lookups and saves the order paths use.
+     */
+    private <R, T> R repository(Class<R> type, Map<String, T> store, Function<T, String> idOf,
+                                BiConsumer<T, String> assignId) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> invoke(type, store, idOf, assignId, proxy, method, args)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Object invoke(Class<?> type, Map<String, T> store, Function<T, String> idOf,
+                              BiConsumer<T, String> assignId, Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "In-memory " + type.getSimpleName();
+            };
+        }
+        switch (method.getName()) {
+            case "findById" -> {
+                roundTrip();
+                return Optional.ofNullable(store.get((String) args[0]));
+            }
+            case "findAllById" -> {
+                roundTrip();
+                List<T> found = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    T entity = store.get((String) id);
+                    if (entity != null) {
+                        found.add(entity);
+                    }
+                }
+                return found;
+            }
+            case "save", "insert" -> {
+                roundTrip();
+                T entity = (T) args[0];
+                if (idOf.apply(entity) == null && assignId != null) {
+                    assignId.accept(entity, Long.toString(orderIds.incrementAndGet()));
+                }
+                store.put(idOf.apply(entity), entity);
+                return entity;
+            }
+            default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        }
+    }
+
+    private final class Inventory extends InventoryReservationRepository {
+
+        Inventory() {
+            super(null);
+        }
+
+        @Override
+        public OptionalInt reserve(String productId, int quantity) {
+            roundTrip();
+            synchronized (available) {
+                int stock = available.getOrDefault(productId, 0);
+                if (stock < quantity) {
+                    return OptionalInt.empty();
+                }
+                available.put(productId, stock - quantity);
+                return OptionalInt.of(stock - quantity);
+            }
+        }
+
+        @Override
+        public boolean reserveAll(Map<String, Integer> quantities, String reservationId) {
+            roundTrip();
+            synchronized (available) {
+                for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+                    if (available.getOrDefault(entry.getKey(), 0) < entry.getValue()) {
+                        return false;
+                    }
+                }
+                quantities.forEach((productId, quantity) -> available.merge(productId, -quantity, Integer::sum));
+                return true;
+            }
+        }
+
+        @Override
+        public void releaseAll(Map<String, Integer> quantities) {
+            roundTrip();
+            synchronized (available) {
+                quantities.forEach((productId, quantity) -> available.merge(productId, quantity, Integer::sum));
+            }
+        }
+
+        @Override
+        public Map<String, Integer> findAvailable(Collection<String> productIds) {
+            roundTrip();
+            Map<String, Integer> found = new HashMap<>();
+            productIds.forEach(id -> found.put(id, available.getOrDefault(id, 0)));
+            return found;
+        }
+    }
+
+    private final class Summaries extends UserOrderSummaryRepository {
+
+        Summaries() {
+            super(null);
+        }
+
+        @Override
+        public Optional<UserOrderSummary> findByUserId(String userId) {
+            roundTrip();
+            return Optional.ofNullable(summaries.get(userId));
+        }
+
+        @Override
+        public UserOrderSummary seed(String userId) {
+            roundTrip();
+            return summaries.computeIfAbsent(userId, id -> UserOrderSummary.builder().userId(id).build());
+        }
+
+        @Override
+        public void recordOrderCreated(String userId, OrderStatus status, BigDecimal amount) {
+            roundTrip();
+            summaries.computeIfPresent(userId, (id, summary) -> {
+                summary.setTotalOrders(summary.getTotalOrders() + 1);
+                summary.setPendingOrders(summary.getPendingOrders() + 1);
+                summary.setTotalSpent(summary.getTotalSpent().add(amount));
+                return summary;
+            });
+        }
+    }
+
+    private final class Outbox extends OutboxEventRepository {
+
+        Outbox() {
+            super(null);
+        }
+
+        @Override
+        public OutboxEvent append(String orderId, String type) {
+            roundTrip();
+            Instant now = Instant.now();
+            return OutboxEvent.builder()
+                    .orderId(orderId)
+                    .type(type)
+                    .status(OutboxEvent.Status.PENDING)
+                    .createdAt(now)
+                    .nextAttemptAt(now)
+                    .build();
+        }
+    }
+
+    /**
+     * Grants every lease; the benchmarks run on a single node.
+     */
+    private static final class Leases extends SchedulerLeaseRepository {
+
+        Leases() {
+            super(null);
+        }
+
+        @Override
+        public boolean tryAcquire(String name, String owner, Duration duration) {
+            return true;
+        }
+
+        @Override
+        public Optional<Instant> findExpiry(String name) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void release(String name, String owner) {
+        }
+    }
+
+    /**
+     * Transactions without a database; committing costs one round trip, as with MongoDB.
+     */
+    private final class Transactions extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            roundTrip();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
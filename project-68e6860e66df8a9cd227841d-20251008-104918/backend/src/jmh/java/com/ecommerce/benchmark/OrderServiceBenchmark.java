@@ -0,0 +1,67 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.OrderDTO;
+import com.ecommerce.dto.OrderItemDTO;
+import com.ecommerce.dto.OrderSummaryDTO;
+import com.ecommerce.model.Order;
+import com.ecommerce.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link OrderService} over in-memory repositories with no simulated round trip,
+ * so that only the service code is measured: order creation, the order summary and entity to DTO
+ * conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderServiceBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int itemsPerOrder;
+
+    private InMemoryRepositories repositories;
+    private OrderService orderService;
+    private Order order;
+    private List<OrderItemDTO> cart;
+
+    @Setup
+    public void setUp() {
+        repositories = new InMemoryRepositories(Duration.ZERO).seed(BenchmarkFixtures.products(itemsPerOrder));
+        orderService = repositories.orderService();
+        order = BenchmarkFixtures.orders(1, itemsPerOrder).get(0);
+        cart = BenchmarkFixtures.cart(itemsPerOrder);
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() {
+        repositories.restock();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(BenchmarkFixtures.USER_ID, cart);
+    }
+
+    @Benchmark
+    public OrderSummaryDTO getUserOrderSummary() {
+        return orderService.getUserOrderSummary(BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public OrderDTO convertToDTO() {
+        return orderService.convertToDTO(order);
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.event.ProductsChangedEvent;
+import com.ecommerce.model.Product;
+import com.ecommerce.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Product search over a generated catalog of one million products: the Lucene
+ * {@link ProductSearchIndex} against the unanchored, case-insensitive regex over name and
+ * description that the MongoDB search ran. MongoDB evaluates that regex on every document of a
+ * collection scan, so the in-memory scan here is a lower bound for it, without the I/O.
+ * Both return the first page of 20 matches and the total match count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int INDEX_BATCH_SIZE = 10_000;
+
+    private static final List<String> WORDS = List.of(
+            "cotton", "linen", "wool", "silk", "denim", "leather", "canvas", "fleece", "nylon", "velvet",
+            "shirt", "jacket", "dress", "boots", "scarf", "sweater", "jeans", "sandals", "hoodie", "coat",
+            "red", "blue", "green", "black", "white", "grey", "navy", "olive", "beige", "burgundy",
+            "slim", "relaxed", "classic", "vintage", "modern", "casual", "formal", "outdoor", "summer", "winter",
+            "waterproof", "breathable", "organic", "recycled", "handmade", "lightweight", "warm", "soft", "durable", "stretch");
+
+    private static final List<String> CATEGORIES = List.of(
+            "Clothing", "Shoes", "Accessories", "Outerwear", "Sportswear", "Kids", "Home", "Bags");
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    // Word frequency falls along the word list: "linen" is in most products, "beige" in about a fifth
+    @Param({"linen", "beige"})
+    private String term;
+
+    private Path indexPath;
+    private ProductSearchIndex index;
+    private String[] names;
+    private String[] descriptions;
+    private Pattern regex;
+
+    @Setup
+    public void setUp() throws IOException {
+        indexPath = Files.createTempDirectory("product-search-benchmark");
+        index = new ProductSearchIndex(null, indexPath.toString(), 20);
+        index.open();
+
+        names = new String[catalogSize];
+        descriptions = new String[catalogSize];
+        Random random = new Random(42);
+        List<Product> batch = new ArrayList<>(INDEX_BATCH_SIZE);
+        for (int i = 0; i < catalogSize; i++) {
+            names[i] = words(random, 3);
+            descriptions[i] = words(random, 20);
+            batch.add(Product.builder()
+                    .id("product-" + i)
+                    .sku("SKU-" + i)
+                    .name(names[i])
+                    .description(descriptions[i])
+                    .category(CATEGORIES.get(random.nextInt(CATEGORIES.size())))
+                    .tags(new ArrayList<>(List.of(words(random, 1), words(random, 1))))
+                    .attributes(Map.of("material", words(random, 1)))
+                    .price(BigDecimal.valueOf(500 + random.nextInt(100_000), 2))
+                    .build());
+            if (batch.size() == INDEX_BATCH_SIZE) {
+                index.onProductsChanged(new ProductsChangedEvent(this, batch));
+                batch.clear();
+            }
+        }
+        index.onProductsChanged(new ProductsChangedEvent(this, batch));
+        index.commit();
+        index.refresh();
+
+        regex = Pattern.compile(Pattern.quote(term), Pattern.CASE_INSENSITIVE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+        FileSystemUtils.deleteRecursively(indexPath);
+    }
+
+    @Benchmark
+    public ProductSearchIndex.SearchHits index() {
+        return index.search(term, null, null, null, 0, PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public ProductSearchIndex.SearchHits indexWithFacets() {
+        return index.search(term, null, null, null, 0, PAGE_SIZE, true);
+    }
+
+    /**
+     * The first page of matches in catalog order, and the match count, as the MongoDB page query
+     * and count query returned them.
+     */
+    @Benchmark
+    public ProductSearchIndex.SearchHits regex() {
+        List<String> ids = new ArrayList<>(PAGE_SIZE);
+        long total = 0;
+        for (int i = 0; i < catalogSize; i++) {
+            if (regex.matcher(names[i]).find() || regex.matcher(descriptions[i]).find()) {
+                if (ids.size() < PAGE_SIZE) {
+                    ids.add("product-" + i);
+                }
+                total++;
+            }
+        }
+        return new ProductSearchIndex.SearchHits(ids, total, Map.of());
+    }
+
+    private static String words(Random random, int count) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < count; i++) {
+            double skewed = random.nextDouble() * random.nextDouble();
+            joiner.add(WORDS.get((int) (skewed * WORDS.size())));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.mapper.ProductSummaryMapper;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the JSON serialization of the pages returned by the product and order endpoints.
+ * Compares a page of full products with the same page mapped to listing summaries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ObjectMapper objectMapper;
+    private Page<Product> productPage;
+    private Page<ProductSummaryDTO> productSummaryPage;
+    private Page<Order> orderPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE);
+
+        List<Product> products = BenchmarkFixtures.products(PAGE_SIZE);
+        productPage = new PageImpl<>(products, pageRequest, 10_000);
+        productSummaryPage = new PageImpl<>(
+                Mappers.getMapper(ProductSummaryMapper.class).toSummaries(products), pageRequest, 10_000);
+        orderPage = new PageImpl<>(BenchmarkFixtures.orders(PAGE_SIZE, 5), pageRequest, 10_000);
+    }
+
+    @Benchmark
+    public byte[] productPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public byte[] productSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productSummaryPage);
+    }
+
+    @Benchmark
+    public byte[] orderPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderPage);
+    }
+}
@@ -0,0 +1,158 @@
+package com.ecommerce.cache;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.event.ProductsChangedEvent;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache for single product lookups.
+ * Products are cached once by ID; SKU lookups go through a small SKU-to-ID index, so both keys
+ * share the same entry and a single eviction covers both. Unknown SKUs are cached briefly to
+ * absorb repeated misses. Entries are evicted on {@link ProductChangedEvent}s, and featured
+ * products are reloaded periodically so they are never served from a cold cache.
+ * The caches are two-level, so evictions reach the near-caches of all nodes.
+ *
+ * Cached products are shared instances and must not be modified by callers.
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    private final ProductRepository productRepository;
+    private final MongoTemplate mongoTemplate;
+
+    private final Cache productsById;
+    private final Cache idsBySku;
+    private final Cache unknownSkus;
+
+    public ProductCache(ProductRepository productRepository,
+                        MongoTemplate mongoTemplate,
+                        CacheManager cacheManager) {
+        this.productRepository = productRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.productsById = cacheManager.getCache(CacheConfig.PRODUCTS);
+        this.idsBySku = cacheManager.getCache(CacheConfig.PRODUCT_SKUS);
+        this.unknownSkus = cacheManager.getCache(CacheConfig.UNKNOWN_PRODUCT_SKUS);
+    }
+
+    /**
+     * Find a product by ID, loading it from MongoDB on a cache miss.
+     *
+     * @param id the product ID
+     * @return an Optional containing the product if it exists
+     */
+    public Optional<Product> findById(String id) {
+        Product product = productsById.get(id, () -> productRepository.findById(id).orElse(null));
+        if (product != null && product.getSku() != null) {
+            idsBySku.putIfAbsent(product.getSku(), product.getId());
+        }
+        return Optional.ofNullable(product);
+    }
+
+    /**
+     * Find a product by SKU, loading it from MongoDB on a cache miss.
+     *
+     * @param sku the product SKU
+     * @return an Optional containing the product if it exists
+     */
+    public Optional<Product> findBySku(String sku) {
+        String id = idsBySku.get(sku, String.class);
+        if (id != null) {
+            Product product = productsById.get(id, Product.class);
+            // The SKU may have changed since the index entry was written
+            if (product != null && sku.equals(product.getSku())) {
+                return Optional.of(product);
+            }
+        }
+        if (unknownSkus.get(sku) != null) {
+            return Optional.empty();
+        }
+
+        Optional<Product> product = productRepository.findBySku(sku);
+        product.ifPresentOrElse(
+                found -> {
+                    productsById.putIfAbsent(found.getId(), found);
+                    idsBySku.put(sku, found.getId());
+                },
+                () -> unknownSkus.putIfAbsent(sku, Boolean.TRUE));
+        return product;
+    }
+
+    /**
+     * Evict a product from the cache on all nodes.
+     *
+     * @param id the product ID
+     */
+    public void evict(String id) {
+        productsById.evict(id);
+    }
+
+    /**
+     * Evicts changed products, and clears a cached miss for the SKU of a newly saved product.
+     * Runs after the surrounding transaction commits, so a concurrent read cannot cache the previous version again.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.getProductId());
+        if (!event.isDeleted() && event.getProduct().getSku() != null) {
+            unknownSkus.evict(event.getProduct().getSku());
+        }
+    }
+
+    /**
+     * Evicts a batch of saved products, such as a catalog import batch, and clears cached misses
+     * for their SKUs. Only the changed keys are evicted, so the rest of the cache stays warm.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        for (Product product : event.getProducts()) {
+            evict(product.getId());
+            if (product.getSku() != null) {
+                unknownSkus.evict(product.getSku());
+            }
+        }
+    }
+
+    /**
+     * Reloads active featured products ahead of expiry. The interval should be shorter than the
+     * cache expiry so that featured product pages never miss.
+     */
+    @Scheduled(fixedDelayString = "${app.product.cache.featured-refresh-interval-ms:60000}")
+    public void refreshFeatured() {
+        List<Product> featured = mongoTemplate.find(
+                Query.query(Criteria.where("isFeatured").is(true).and("isActive").is(true)), Product.class);
+        for (Product product : featured) {
+            refresh(productsById, product.getId(), product);
+            if (product.getSku() != null) {
+                refresh(idsBySku, product.getSku(), product.getId());
+            }
+        }
+        log.debug("Refreshed {} featured products in the product cache", featured.size());
+    }
+
+    /**
+     * Writes a reloaded value without broadcasting an invalidation, so that each node's refresh
+     * does not evict the copies the other nodes have just refreshed.
+     */
+    private void refresh(Cache cache, String key, Object value) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.refresh(key, value);
+        } else {
+            cache.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.catalog;
+
+import com.ecommerce.dto.ExportFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A catalog import job and its progress.
+ * Jobs are updated by the worker thread and read by polling requests, so state is kept in volatile fields.
+ */
+@Getter
+public class CatalogImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * A row that could not be imported.
+     *
+     * @param line the line of the row in the uploaded file
+     * @param sku the SKU of the row, if it could be read
+     * @param message why the row was rejected
+     */
+    public record RowError(long line, String sku, String message) {
+    }
+
+    private final String id;
+    private final ExportFormat format;
+    private final LocalDateTime submittedAt;
+    private final int maxErrors;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile long rowsRead;
+    private volatile long inserted;
+    private volatile long updated;
+    private volatile long failed;
+    private volatile String error;
+
+    /**
+     * The first {@code maxErrors} rejected rows; {@link #getFailed()} counts all of them.
+     */
+    private final List<RowError> rowErrors = new CopyOnWriteArrayList<>();
+
+    @JsonIgnore
+    private final Path file;
+
+    public CatalogImportJob(String id, ExportFormat format, Path file, int maxErrors) {
+        this.id = id;
+        this.format = format;
+        this.file = file;
+        this.maxErrors = maxErrors;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    /**
+     * @return rows read per second since the job started, or 0 if it has not started
+     */
+    public double getRowsPerSecond() {
+        LocalDateTime start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        LocalDateTime end = completedAt != null ? completedAt : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return rowsRead * 1000.0 / millis;
+    }
+
+    /**
+     * @return true once the job has completed or failed
+     */
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void markCompleted() {
+        completedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        completedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void rowsWritten(long inserted, long updated) {
+        this.inserted += inserted;
+        this.updated += updated;
+    }
+
+    void rowFailed(long line, String sku, String message) {
+        failed++;
+        if (rowErrors.size() < maxErrors) {
+            rowErrors.add(new RowError(line, sku, message));
+        }
+    }
+}
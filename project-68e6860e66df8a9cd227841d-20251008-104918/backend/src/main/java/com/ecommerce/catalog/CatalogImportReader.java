@@ -0,0 +1,204 @@
+package com.ecommerce.catalog;
+
+import com.ecommerce.dto.ExportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an uploaded catalog file one row at a time.
+ *
+ * NDJSON files hold one product object per line. CSV files start with a header row naming product
+ * fields; {@code tags} and {@code images} hold values separated by {@code |}, and columns named
+ * {@code attributes.<name>} fill the attributes map. Empty CSV values are left out of the row.
+ * Rows that cannot be parsed are returned with an error instead of failing the whole file.
+ */
+class CatalogImportReader implements Iterator<CatalogImportReader.Row>, Closeable {
+
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {
+    };
+    private static final String ATTRIBUTE_PREFIX = "attributes.";
+    private static final List<String> LIST_FIELDS = List.of("tags", "images");
+
+    /**
+     * One row of the file.
+     *
+     * @param line the line the row starts on
+     * @param fields the product fields present in the row
+     * @param error why the row could not be parsed, or null
+     */
+    record Row(long line, Map<String, Object> fields, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+    private Row next;
+
+    private CatalogImportReader(BufferedReader reader, ExportFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    static CatalogImportReader open(Path file, ExportFormat format, ObjectMapper objectMapper) throws IOException {
+        CatalogImportReader importReader = new CatalogImportReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), format, objectMapper);
+        if (format == ExportFormat.CSV) {
+            List<String> header = importReader.readCsvRecord();
+            if (header == null) {
+                header = List.of();
+            }
+            importReader.header = header.stream().map(String::trim).toList();
+        }
+        return importReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = format == ExportFormat.CSV ? readCsvRow() : readJsonRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row readJsonRow() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            return new Row(lineNumber, objectMapper.readValue(line, ROW_TYPE), null);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, Map.of(), "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row readCsvRow() throws IOException {
+        List<String> values;
+        long line;
+        do {
+            line = lineNumber + 1;
+            values = readCsvRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        if (values.size() != header.size()) {
+            return new Row(line, Map.of(), "Expected " + header.size() + " columns but found " + values.size());
+        }
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            if (name.startsWith(ATTRIBUTE_PREFIX)) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> attributes = (Map<String, Object>) fields.computeIfAbsent("attributes", key -> new HashMap<>());
+                attributes.put(name.substring(ATTRIBUTE_PREFIX.length()), value);
+            } else if (LIST_FIELDS.contains(name)) {
+                fields.put(name, Arrays.stream(value.split("\\|")).map(String::trim).filter(s -> !s.isEmpty()).toList());
+            } else {
+                fields.put(name, value);
+            }
+        }
+        return new Row(line, fields, null);
+    }
+
+    /**
+     * Reads one CSV record, which may span several lines when a quoted value contains line breaks.
+     *
+     * @return the values of the record, or null at the end of the file
+     */
+    private List<String> readCsvRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        current.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                // Unterminated quoted value; keep what was read and let the column check reject it
+                break;
+            }
+            lineNumber++;
+            current.append('\n');
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.catalog;
+
+/**
+ * Thrown when an uploaded catalog feed cannot be accepted for import.
+ */
+public class CatalogImportRejectedException extends RuntimeException {
+
+    public enum Reason {
+        /**
+         * The feed exceeds the maximum upload size.
+         */
+        TOO_LARGE,
+        /**
+         * There is not enough free disk space to spool the feed.
+         */
+        INSUFFICIENT_STORAGE
+    }
+
+    private final Reason reason;
+
+    public CatalogImportRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
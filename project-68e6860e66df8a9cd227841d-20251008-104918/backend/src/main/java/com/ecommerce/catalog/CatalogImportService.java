@@ -0,0 +1,359 @@
+package com.ecommerce.catalog;
+
+import com.ecommerce.dto.ExportFormat;
+import com.ecommerce.event.ProductsChangedEvent;
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Service that imports supplier catalog feeds in the background.
+ *
+ * The uploaded file is spooled to disk and parsed one row at a time, so memory use does not grow
+ * with the size of the feed. Each row is validated as a complete product, with categories checked
+ * against a map loaded once per job, and turned into a field-level upsert keyed on SKU. Upserts are
+ * sent in unordered bulk writes; fields present in a row replace the stored values, other fields
+ * keep their stored values or get the product defaults when the SKU is new. Rejected rows are
+ * reported on the job with their line number.
+ *
+ * Uploads are limited to {@code app.catalog.import.max-upload-size} and are only accepted while
+ * the storage path keeps {@code app.catalog.import.min-free-space} free after spooling them.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+
+    private static final Set<String> IGNORED_FIELDS = Set.of("id", "_id", "sku", "createdAt", "updatedAt");
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path storagePath;
+    private final int batchSize;
+    private final int maxErrors;
+    private final long maxUploadBytes;
+    private final long minFreeBytes;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CatalogImportJob> jobs = new ConcurrentHashMap<>();
+
+    public CatalogImportService(MongoTemplate mongoTemplate,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${app.catalog.import.storage-path:/data/imports}") String storagePath,
+                                @Value("${app.catalog.import.batch-size:1000}") int batchSize,
+                                @Value("${app.catalog.import.queue-capacity:4}") int queueCapacity,
+                                @Value("${app.catalog.import.max-errors:1000}") int maxErrors,
+                                @Value("${app.catalog.import.max-upload-size:1GB}") DataSize maxUploadSize,
+                                @Value("${app.catalog.import.min-free-space:2GB}") DataSize minFreeSpace,
+                                @Value("${app.catalog.import.retention-hours:24}") long retentionHours) throws IOException {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.storagePath = Files.createDirectories(Paths.get(storagePath));
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        this.minFreeBytes = minFreeSpace.toBytes();
+        this.retention = Duration.ofHours(retentionHours);
+
+        // A single worker: concurrent imports would only compete for the same collection
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "catalog-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Spools an uploaded feed to disk and queues it for import.
+     *
+     * @param format the format of the feed
+     * @param content the uploaded feed
+     * @param contentLength the declared size of the feed in bytes, or -1 if unknown
+     * @return the queued job
+     * @throws RejectedExecutionException if the import queue is full
+     * @throws CatalogImportRejectedException if the feed is too large or there is not enough disk space
+     * @throws IOException if the feed cannot be stored
+     */
+    public CatalogImportJob submit(ExportFormat format, InputStream content, long contentLength) throws IOException {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            // Fail fast before reading a large upload that could not be queued anyway
+            throw new RejectedExecutionException("Catalog import queue is full");
+        }
+        if (contentLength > maxUploadBytes) {
+            throw tooLarge();
+        }
+        // Without a declared length, assume the largest feed that would be accepted
+        long required = (contentLength >= 0 ? contentLength : maxUploadBytes) + minFreeBytes;
+        if (Files.getFileStore(storagePath).getUsableSpace() < required) {
+            throw new CatalogImportRejectedException(CatalogImportRejectedException.Reason.INSUFFICIENT_STORAGE,
+                    "Not enough free disk space to store the catalog feed");
+        }
+
+        String id = UUID.randomUUID().toString();
+        Path file = storagePath.resolve(id + "." + format.getExtension());
+        spool(content, file);
+
+        CatalogImportJob job = new CatalogImportJob(id, format, file, maxErrors);
+        jobs.put(id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            deleteQuietly(file);
+            log.warn("Rejected catalog import, queue is full");
+            throw e;
+        }
+        log.info("Queued {} catalog import {}", format, id);
+        return job;
+    }
+
+    /**
+     * Find a job by its ID.
+     *
+     * @param id the job ID
+     * @return an Optional containing the job if it exists and has not expired
+     */
+    public Optional<CatalogImportJob> findJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Forgets finished jobs older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.import.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(CatalogImportJob job) {
+        job.markRunning();
+        Set<String> categories = loadCategoryNames();
+        Document defaults = toDocument(Product.builder().build());
+
+        try (CatalogImportReader reader = CatalogImportReader.open(job.getFile(), job.getFormat(), objectMapper)) {
+            List<PendingUpsert> batch = new ArrayList<>(batchSize);
+            Set<String> batchSkus = new HashSet<>();
+            while (reader.hasNext()) {
+                CatalogImportReader.Row row = reader.next();
+                job.rowRead();
+                if (row.error() != null) {
+                    job.rowFailed(row.line(), null, row.error());
+                    continue;
+                }
+
+                PendingUpsert upsert;
+                try {
+                    upsert = toUpsert(row, categories, defaults);
+                } catch (IllegalArgumentException e) {
+                    job.rowFailed(row.line(), skuOf(row), e.getMessage());
+                    continue;
+                }
+
+                // Two upserts of a new SKU in one unordered batch would race on the unique index
+                if (batch.size() == batchSize || !batchSkus.add(upsert.sku())) {
+                    write(job, batch);
+                    batch.clear();
+                    batchSkus.clear();
+                    batchSkus.add(upsert.sku());
+                }
+                batch.add(upsert);
+            }
+            write(job, batch);
+
+            job.markCompleted();
+            log.info("Catalog import {} completed: {} rows, {} inserted, {} updated, {} failed, {} rows/s",
+                    job.getId(), job.getRowsRead(), job.getInserted(), job.getUpdated(), job.getFailed(),
+                    Math.round(job.getRowsPerSecond()));
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            log.error("Catalog import {} failed after {} rows", job.getId(), job.getRowsRead(), e);
+        } finally {
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    /**
+     * Validates a row as a product and builds its upsert.
+     *
+     * @throws IllegalArgumentException if the row is not a valid product
+     */
+    private PendingUpsert toUpsert(CatalogImportReader.Row row, Set<String> categories, Document defaults) {
+        Product product;
+        try {
+            product = objectMapper.convertValue(row.fields(), Product.class);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value: " + e.getMessage().lines().findFirst().orElse(""));
+        }
+
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (!categories.contains(product.getCategory())) {
+            throw new IllegalArgumentException("Category not found: " + product.getCategory());
+        }
+
+        Document document = toDocument(product);
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update().set("updatedAt", now).setOnInsert("createdAt", now);
+        document.forEach((field, value) -> {
+            if (!IGNORED_FIELDS.contains(field) && row.fields().containsKey(field)) {
+                update.set(field, value);
+            }
+        });
+        defaults.forEach((field, value) -> {
+            if (!IGNORED_FIELDS.contains(field) && !row.fields().containsKey(field)) {
+                update.setOnInsert(field, value);
+            }
+        });
+        return new PendingUpsert(row.line(), product.getSku(), update);
+    }
+
+    private void write(CatalogImportJob job, List<PendingUpsert> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        batch.forEach(upsert -> bulk.upsert(Query.query(Criteria.where("sku").is(upsert.sku())), upsert.update()));
+
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            for (BulkWriteError error : e.getErrors()) {
+                PendingUpsert upsert = batch.get(error.getIndex());
+                job.rowFailed(upsert.line(), upsert.sku(), error.getMessage());
+            }
+        }
+        job.rowsWritten(result.getUpserts().size(), result.getMatchedCount());
+
+        // Let caches and search indexes pick up the imported products, once for the whole batch
+        List<String> skus = batch.stream().map(PendingUpsert::sku).toList();
+        Query changed = Query.query(Criteria.where("sku").in(skus));
+        changed.fields().include(ProductsChangedEvent.FIELDS);
+        List<Product> products = mongoTemplate.find(changed, Product.class);
+        if (!products.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(this, products));
+        }
+
+        log.debug("Catalog import {}: {} rows read at {} rows/s", job.getId(), job.getRowsRead(),
+                Math.round(job.getRowsPerSecond()));
+    }
+
+    private Set<String> loadCategoryNames() {
+        Query query = new Query();
+        query.fields().include("name");
+        return mongoTemplate.find(query, Category.class).stream()
+                .map(Category::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private Document toDocument(Product product) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(product, document);
+        document.remove("_class");
+        return document;
+    }
+
+    private String skuOf(CatalogImportReader.Row row) {
+        Object sku = row.fields().get("sku");
+        return sku == null ? null : sku.toString();
+    }
+
+    /**
+     * Copies the feed to disk, stopping as soon as it exceeds the maximum upload size.
+     */
+    private void spool(InputStream content, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long written = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int read = content.read(buffer); read != -1; read = content.read(buffer)) {
+                written += read;
+                if (written > maxUploadBytes) {
+                    throw tooLarge();
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private CatalogImportRejectedException tooLarge() {
+        return new CatalogImportRejectedException(CatalogImportRejectedException.Reason.TOO_LARGE,
+                "Catalog feed exceeds the maximum upload size of " + maxUploadBytes + " bytes");
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private record PendingUpsert(long line, String sku, Update update) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.config;
+
+import com.ecommerce.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache configuration for the e-commerce application.
+ * Configures a two-level cache: a Caffeine near-cache on each node backed by a shared Redis
+ * cache, with invalidations broadcast over Redis pub/sub.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_SKUS = "productSkus";
+    public static final String UNKNOWN_PRODUCT_SKUS = "unknownProductSkus";
+    public static final String USERS = "users";
+
+    @Value("${app.cache.key-prefix:ecommerce::}")
+    private String keyPrefix;
+
+    @Value("${app.cache.invalidation-channel:ecommerce:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${app.cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${app.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${app.cache.local.ttl:60s}")
+    private Duration localTtl;
+
+    @Value("${app.product.cache.expire-after-write:10m}")
+    private Duration productTtl;
+
+    @Value("${app.product.cache.negative-ttl:60s}")
+    private Duration negativeTtl;
+
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .prefixCacheNameWith(keyPrefix)
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(valueSerializer(objectMapper)));
+
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        cacheTtls().forEach((name, cacheTtl) -> configurations.put(name, defaults.entryTtl(cacheTtl)));
+
+        return RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(configurations)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public TwoLevelCacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                             StringRedisTemplate redisTemplate,
+                                             MeterRegistry meterRegistry) {
+        return new TwoLevelCacheManager(redisCacheManager, redisTemplate, meterRegistry,
+                invalidationChannel, localMaximumSize, localTtl, cacheTtls());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(invalidationChannel));
+        return container;
+    }
+
+    private Map<String, Duration> cacheTtls() {
+        return Map.of(
+                PRODUCTS, productTtl,
+                PRODUCT_SKUS, productTtl,
+                UNKNOWN_PRODUCT_SKUS, negativeTtl);
+    }
+
+    /**
+     * JSON serializer that records the type of application values, so cached entities are read back
+     * with their own class. Only application and JDK types are accepted when reading.
+     */
+    private GenericJackson2JsonRedisSerializer valueSerializer(ObjectMapper objectMapper) {
+        ObjectMapper mapper = objectMapper.copy();
+        mapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.ecommerce.")
+                        .allowIfSubType("java.")
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+}
@@ -7,6 +7,8 @@ import com.mongodb.client.MongoClients;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
@@ -68,11 +70,13 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     }
 
     /**
-     * Configures the MongoTemplate with custom settings
+     * Configures the MongoTemplate with custom settings.
+     * Built on the shared database factory so that template operations join transactions
+     * started by the transaction manager.
      */
     @Bean
     public MongoTemplate mongoTemplate() throws Exception {
-        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient(), getDatabaseName());
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoDbFactory());
         
         // Configure the MappingMongoConverter to not save _class field
         MappingMongoConverter converter = (MappingMongoConverter) mongoTemplate.getConverter();
@@ -81,6 +85,15 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
         return mongoTemplate;
     }
 
+    /**
+     * Transaction manager for @Transactional service methods and {@code TransactionRunner}, so that
+     * an order and its outbox events are committed atomically. Requires MongoDB to run as a replica set.
+     */
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
     /**
      * Bean validation event listener for MongoDB documents
      */
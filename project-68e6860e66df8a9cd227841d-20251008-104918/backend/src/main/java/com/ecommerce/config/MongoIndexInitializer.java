@@ -0,0 +1,51 @@
+package com.ecommerce.config;
+
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OutboxEvent;
+import com.ecommerce.model.Product;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on mapped entities ({@code @Indexed}, {@code @CompoundIndex},
+ * {@code @WildcardIndexed}, TTL indexes) at startup.
+ * {@link MongoConfig} extends {@code AbstractMongoClientConfiguration}, which turns automatic index
+ * creation off regardless of {@code spring.data.mongodb.auto-index-creation}, so the indexes the
+ * queries rely on are ensured here instead. Set the property to false to manage indexes externally.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.data.mongodb.auto-index-creation", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(Order.class, OutboxEvent.class, Product.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            resolver.resolveIndexFor(entity).forEach(index -> {
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (DataAccessException e) {
+                    // An index that conflicts with existing data or options must not prevent startup
+                    log.error("Failed to create index {} on {}", index.getIndexKeys(), entity.getSimpleName(), e);
+                }
+            });
+        }
+        log.info("Ensured indexes for {} entities", INDEXED_ENTITIES.size());
+    }
+}
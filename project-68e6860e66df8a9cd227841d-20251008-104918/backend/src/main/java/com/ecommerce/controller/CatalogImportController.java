@@ -0,0 +1,89 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.catalog.CatalogImportJob;
+import com.ecommerce.catalog.CatalogImportRejectedException;
+import com.ecommerce.catalog.CatalogImportService;
+import com.ecommerce.dto.ExportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bulk catalog import endpoints for supplier feeds.
+ * The feed is sent as the raw request body, so uploads are not limited by the multipart size limits.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/catalog/imports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Catalog Import API", description = "Endpoints for importing products in bulk")
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @Operation(summary = "Submit catalog import", description = "Uploads a CSV or newline-delimited JSON feed "
+            + "and queues it for import. Products are inserted or updated by SKU")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Catalog import queued"),
+            @ApiResponse(responseCode = "413", description = "Feed exceeds the maximum upload size"),
+            @ApiResponse(responseCode = "429", description = "Import queue is full"),
+            @ApiResponse(responseCode = "507", description = "Not enough disk space to store the feed")
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogImportJob> submitImport(
+            @Parameter(description = "Feed format") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletRequest request) throws IOException {
+        log.debug("REST request to import products as {}", format);
+        CatalogImportJob job = catalogImportService.submit(format, request.getInputStream(), request.getContentLengthLong());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "Get catalog import", description = "Returns the progress and rejected rows of an import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved catalog import"),
+            @ApiResponse(responseCode = "404", description = "Catalog import not found")
+    })
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogImportJob> getImport(@PathVariable String id) {
+        log.debug("REST request to get catalog import: {}", id);
+        return catalogImportService.findJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(CatalogImportRejectedException.class)
+    public ResponseEntity<String> handleRejected(CatalogImportRejectedException e) {
+        HttpStatus status = e.getReason() == CatalogImportRejectedException.Reason.TOO_LARGE
+                ? HttpStatus.PAYLOAD_TOO_LARGE
+                : HttpStatus.INSUFFICIENT_STORAGE;
+        return ResponseEntity.status(status).body(e.getMessage());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleQueueFull() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .build();
+    }
+}
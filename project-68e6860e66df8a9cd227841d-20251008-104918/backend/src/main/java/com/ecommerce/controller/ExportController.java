@@ -0,0 +1,73 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.ExportFormat;
+import com.ecommerce.service.DataExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Bulk export endpoints for downstream feeds.
+ * Responses are written straight to the servlet output stream while the MongoDB cursor is read,
+ * so exports of any size run in constant memory.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export API", description = "Endpoints for bulk data export")
+public class ExportController {
+
+    private final DataExportService dataExportService;
+
+    @Operation(summary = "Export products", description = "Streams products as newline-delimited JSON or CSV")
+    @GetMapping("/products")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportProducts(
+            @Parameter(description = "Output format") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Category to export") @RequestParam(required = false) String category,
+            @Parameter(description = "Only export products updated since this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Products as {}", format);
+        prepare(response, "products", format);
+        dataExportService.exportProducts(format, category, updatedSince, response.getOutputStream());
+    }
+
+    @Operation(summary = "Export orders", description = "Streams orders as newline-delimited JSON or CSV")
+    @GetMapping("/orders")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportOrders(
+            @Parameter(description = "Output format") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Order status to export") @RequestParam(required = false) String status,
+            @Parameter(description = "Only export orders created at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only export orders created before this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Orders as {}", format);
+        prepare(response, "orders", format);
+        dataExportService.exportOrders(format, status, from, to, response.getOutputStream());
+    }
+
+    private void prepare(HttpServletResponse response, String name, ExportFormat format) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "-" + LocalDate.now() + "." + format.getExtension() + "\"");
+    }
+}
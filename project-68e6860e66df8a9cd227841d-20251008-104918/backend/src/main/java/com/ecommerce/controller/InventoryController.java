@@ -0,0 +1,44 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.LowStockProduct;
+import com.ecommerce.service.LowStockMonitor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Inventory monitoring endpoints.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/inventory")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inventory API", description = "Endpoints for monitoring inventory")
+public class InventoryController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LowStockMonitor lowStockMonitor;
+
+    @Operation(summary = "Get low-stock products", description = "Returns products at or below the reorder "
+            + "notification threshold, lowest available quantity first. Served from memory")
+    @GetMapping("/low-stock")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<LowStockProduct>> getLowStockProducts(
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        log.debug("REST request to get low-stock products, page: {}", page);
+        return ResponseEntity.ok(lowStockMonitor.findLowStock(
+                PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)))));
+    }
+}
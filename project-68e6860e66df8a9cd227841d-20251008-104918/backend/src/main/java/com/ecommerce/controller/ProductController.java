@@ -1,9 +1,19 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.dto.AttributeFilterExplanation;
+import com.ecommerce.dto.AttributeFilterRequest;
+import com.ecommerce.dto.BulkProductUpdateRequest;
+import com.ecommerce.dto.BulkUpdateResult;
+import com.ecommerce.dto.CursorSlice;
+import com.ecommerce.dto.ProductBrowseResult;
 import com.ecommerce.dto.ProductDTO;
 import com.ecommerce.dto.ProductSearchCriteria;
+import com.ecommerce.dto.ProductSummaryDTO;
 import com.ecommerce.exception.ResourceNotFoundException;
 import com.ecommerce.model.Product;
+import com.ecommerce.search.ProductFacetIndex;
+import com.ecommerce.search.SearchIndexNotReadyException;
+import com.ecommerce.service.ProductAttributeFilterService;
 import com.ecommerce.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,12 +27,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -31,7 +48,13 @@ import java.util.List;
 @Tag(name = "Product API", description = "Endpoints for managing products")
 public class ProductController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
+    private static final Set<String> BROWSE_FILTERS = Set.of(
+            ProductFacetIndex.CATEGORY, ProductFacetIndex.SUBCATEGORY, ProductFacetIndex.TAG, ProductFacetIndex.PRICE);
+
     private final ProductService productService;
+    private final ProductAttributeFilterService productAttributeFilterService;
 
     @Operation(summary = "Get all products", description = "Returns a paginated list of products")
     @ApiResponses(value = {
@@ -46,6 +69,37 @@ public class ProductController {
         return ResponseEntity.ok(page);
     }
 
+    @Operation(summary = "Get product summaries", description = "Returns a paginated list of product summaries "
+            + "for listings; only the listed fields are read")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved product summaries",
+                    content = @Content(schema = @Schema(implementation = Page.class)))
+    })
+    @GetMapping("/summaries")
+    public ResponseEntity<Page<ProductSummaryDTO>> getProductSummaries(
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        log.debug("REST request to get a page of Product summaries");
+        Page<ProductSummaryDTO> page = productService.getProductSummaries(pageable);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Scroll products", description = "Returns a slice of products using keyset pagination. "
+            + "Pass the returned nextCursor to fetch the next slice; no total count is computed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved products"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorSlice<Product>> scrollProducts(
+            @Parameter(description = "Continuation token from the previous slice") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Field to sort by") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "desc") String sortDir) {
+        log.debug("REST request to scroll Products, cursor: {}", cursor);
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+        return ResponseEntity.ok(productService.scrollProducts(cursor, Math.min(size, MAX_SCROLL_SIZE), sort));
+    }
+
     @Operation(summary = "Get product by ID", description = "Returns a product by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved product"),
@@ -128,6 +182,69 @@ public class ProductController {
         return ResponseEntity.ok(page);
     }
 
+    @Operation(summary = "Get search facets", description = "Returns category and price bucket counts for products matching the search")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved facet counts"),
+            @ApiResponse(responseCode = "503", description = "Search index is still being built")
+    })
+    @GetMapping("/search/facets")
+    public ResponseEntity<Map<String, Map<String, Long>>> getSearchFacets(
+            @Parameter(description = "Search query") @RequestParam(required = false) String query,
+            @Parameter(description = "Category filter") @RequestParam(required = false) String category,
+            @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice) {
+        log.debug("REST request to get search facets for query: {}, category: {}", query, category);
+        return ResponseEntity.ok(productService.getSearchFacets(query, category, minPrice, maxPrice));
+    }
+
+    @Operation(summary = "Browse products", description = "Returns a filtered list of products with facet counts. "
+            + "Filter by category, subcategory, tag, price bucket (e.g. 25-50) or attribute (attr.<name>); "
+            + "repeat a parameter to select several values")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved products and facets")
+    })
+    @GetMapping("/browse")
+    public ResponseEntity<ProductBrowseResult> browseProducts(
+            @Parameter(description = "Facet filters") @RequestParam MultiValueMap<String, String> params,
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        log.debug("REST request to browse Products with filters: {}", params);
+        Map<String, List<String>> filters = new HashMap<>();
+        params.forEach((name, values) -> {
+            if (BROWSE_FILTERS.contains(name) || name.startsWith(ProductFacetIndex.ATTRIBUTE_PREFIX)) {
+                filters.put(name, values);
+            }
+        });
+        return ResponseEntity.ok(productService.browseProducts(filters, pageable));
+    }
+
+    @Operation(summary = "Filter products by attributes", description = "Returns summaries of products matching "
+            + "all (AND) or any (OR) of the attribute conditions, e.g. color in [red, blue] and size = XL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved products"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter")
+    })
+    @PostMapping("/attributes/filter")
+    public ResponseEntity<Page<ProductSummaryDTO>> filterByAttributes(
+            @Parameter(description = "Attribute filter") @Valid @RequestBody AttributeFilterRequest filter,
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        log.debug("REST request to filter Products by attributes: {}", filter);
+        return ResponseEntity.ok(productAttributeFilterService.filter(filter, pageable));
+    }
+
+    @Operation(summary = "Explain attribute filter", description = "Reports whether the filter and each of its "
+            + "conditions are served by an index, and which indexes are used")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Query plans summarized"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter")
+    })
+    @PostMapping("/attributes/filter/explain")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PRODUCT_MANAGER')")
+    public ResponseEntity<AttributeFilterExplanation> explainAttributeFilter(
+            @Parameter(description = "Attribute filter") @Valid @RequestBody AttributeFilterRequest filter) {
+        log.debug("REST request to explain attribute filter: {}", filter);
+        return ResponseEntity.ok(productAttributeFilterService.explain(filter));
+    }
+
     @Operation(summary = "Get products by category", description = "Returns products belonging to a specific category")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved products")
@@ -141,6 +258,20 @@ public class ProductController {
         return ResponseEntity.ok(page);
     }
 
+    @Operation(summary = "Get product summaries by category", description = "Returns summaries of products "
+            + "belonging to a specific category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved product summaries")
+    })
+    @GetMapping("/category/{categoryId}/summaries")
+    public ResponseEntity<Page<ProductSummaryDTO>> getProductSummariesByCategory(
+            @Parameter(description = "Category ID") @PathVariable String categoryId,
+            @Parameter(description = "Pagination parameters") Pageable pageable) {
+        log.debug("REST request to get Product summaries by category : {}", categoryId);
+        Page<ProductSummaryDTO> page = productService.getProductSummariesByCategory(categoryId, pageable);
+        return ResponseEntity.ok(page);
+    }
+
     @Operation(summary = "Update product inventory", description = "Updates the inventory for a product")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Inventory updated successfully"),
@@ -159,6 +290,20 @@ public class ProductController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "Bulk update products", description = "Applies price, attribute and tag changes to many "
+            + "products by SKU and returns a summary, including the updates that were rejected")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valid updates applied, invalid ones reported"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PRODUCT_MANAGER')")
+    public ResponseEntity<BulkUpdateResult> bulkUpdateProducts(
+            @Parameter(description = "Changes to apply") @Valid @RequestBody BulkProductUpdateRequest request) {
+        log.debug("REST request to bulk update {} Products", request.getUpdates().size());
+        return ResponseEntity.ok(productService.bulkUpdateProducts(request.getUpdates()));
+    }
+
     @Operation(summary = "Get featured products", description = "Returns a list of featured products")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved featured products")
@@ -170,4 +315,23 @@ public class ProductController {
         List<ProductDTO> featuredProducts = productService.findFeaturedProducts(limit);
         return ResponseEntity.ok(featuredProducts);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Get featured product summaries", description = "Returns summaries of featured products")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved featured product summaries")
+    })
+    @GetMapping("/featured/summaries")
+    public ResponseEntity<List<ProductSummaryDTO>> getFeaturedProductSummaries(
+            @Parameter(description = "Maximum number of products to return") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("REST request to get featured Product summaries, limit: {}", limit);
+        List<ProductSummaryDTO> featuredProducts = productService.getFeaturedProductSummaries(limit);
+        return ResponseEntity.ok(featuredProducts);
+    }
+
+    @ExceptionHandler(SearchIndexNotReadyException.class)
+    public ResponseEntity<String> handleSearchIndexNotReady(SearchIndexNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,103 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.ReportRequest;
+import com.ecommerce.report.ReportJob;
+import com.ecommerce.report.ReportJobService;
+import com.ecommerce.report.ReportStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/v1/admin/reports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report API", description = "Endpoints for generating reports in the background")
+public class ReportController {
+
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final ReportJobService reportJobService;
+
+    @Operation(summary = "Submit report job", description = "Queues a report for background generation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Report job queued"),
+            @ApiResponse(responseCode = "429", description = "Report queue is full")
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReportJob> submitReport(@Valid @RequestBody ReportRequest request) {
+        log.debug("REST request to generate {} report", request.getType());
+        ReportJob job = reportJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "Get report job", description = "Returns the status of a report job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved report job"),
+            @ApiResponse(responseCode = "404", description = "Report job not found")
+    })
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReportJob> getReport(@PathVariable String id) {
+        log.debug("REST request to get report job: {}", id);
+        return reportJobService.findJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Download report", description = "Downloads a completed report")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report file"),
+            @ApiResponse(responseCode = "404", description = "Report job not found"),
+            @ApiResponse(responseCode = "409", description = "Report is not completed")
+    })
+    @GetMapping("/{id}/download")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Resource> downloadReport(@PathVariable String id) {
+        log.debug("REST request to download report: {}", id);
+        ReportJob job = reportJobService.findJob(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != ReportStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        String filename = job.getRequest().getType().name().toLowerCase() + "-report-" + job.getId() + ".xlsx";
+        return ResponseEntity.ok()
+                .contentType(XLSX)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleQueueFull() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .build();
+    }
+}
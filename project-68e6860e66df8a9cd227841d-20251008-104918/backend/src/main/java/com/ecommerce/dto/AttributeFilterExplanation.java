@@ -0,0 +1,42 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * How MongoDB executes an attribute filter: for the whole filter and for each condition on its own,
+ * whether the winning plan reads an index or scans the collection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttributeFilterExplanation {
+
+    private Plan filter;
+
+    private List<Plan> conditions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Plan {
+
+        /**
+         * The attribute name, or null for the whole filter.
+         */
+        private String attribute;
+
+        /**
+         * True if the winning plan does not scan the collection.
+         */
+        private boolean indexed;
+
+        /**
+         * Names of the indexes used by the winning plan.
+         */
+        private List<String> indexes;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A filter on product attributes, e.g. color in (red, blue) AND size = XL.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttributeFilterRequest {
+
+    public enum Mode {
+        AND,
+        OR
+    }
+
+    /**
+     * How the conditions are combined.
+     */
+    @Builder.Default
+    private Mode mode = Mode.AND;
+
+    @NotEmpty(message = "At least one attribute condition is required")
+    private List<@Valid Condition> conditions;
+
+    /**
+     * Matches products whose attribute has one of the given values.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Condition {
+
+        @NotBlank(message = "Attribute name is required")
+        @Pattern(regexp = "[^.$][^.]*", message = "Attribute name must not contain '.' or start with '$'")
+        private String name;
+
+        @NotEmpty(message = "At least one attribute value is required")
+        private List<String> values;
+    }
+}
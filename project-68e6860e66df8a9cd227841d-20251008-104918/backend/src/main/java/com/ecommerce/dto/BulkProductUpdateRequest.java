@@ -0,0 +1,55 @@
+package com.ecommerce.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of field-level product updates, addressed by SKU.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductUpdateRequest {
+
+    /**
+     * Updates are validated one by one when they are applied, so an invalid update is reported
+     * on the result without rejecting the rest of the request.
+     */
+    @NotEmpty(message = "At least one update is required")
+    private List<ProductUpdate> updates;
+
+    /**
+     * Changes to one product. Only the fields that are set are written.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductUpdate {
+
+        private String sku;
+
+        /**
+         * Must not be negative.
+         */
+        private BigDecimal price;
+
+        /**
+         * Attributes to add or overwrite; attributes that are not listed are kept.
+         */
+        private Map<String, String> attributes;
+
+        /**
+         * Replaces the product's tags.
+         */
+        private List<String> tags;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a bulk update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResult {
+
+    private int requested;
+
+    /**
+     * Updates that were not applied because they failed validation.
+     */
+    private int rejected;
+
+    private long matched;
+
+    private long modified;
+
+    /**
+     * SKUs that did not match any product, up to a limit; {@code requested - matched} counts all of them.
+     */
+    private List<String> notFound = new ArrayList<>();
+
+    /**
+     * Rejected updates, up to a limit; {@link #getRejected()} counts all of them.
+     */
+    private List<RejectedUpdate> rejectedUpdates = new ArrayList<>();
+
+    /**
+     * An update that was not applied.
+     *
+     * @param index position of the update in the request
+     * @param sku SKU the update was addressed to
+     * @param message why the update was rejected
+     */
+    public record RejectedUpdate(int index, String sku, String message) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product whose available stock is at or below the reorder notification threshold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockProduct {
+
+    private String productId;
+
+    private int available;
+
+    /**
+     * When the product was first seen at or below the threshold.
+     */
+    private LocalDateTime since;
+}
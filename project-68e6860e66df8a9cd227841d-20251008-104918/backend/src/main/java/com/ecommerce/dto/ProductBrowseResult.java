@@ -0,0 +1,33 @@
+package com.ecommerce.dto;
+
+import com.ecommerce.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of products from a faceted listing, together with the facet counts for the listing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBrowseResult {
+
+    private List<Product> products;
+
+    private int page;
+
+    private int size;
+
+    private long totalElements;
+
+    /**
+     * Facet counts keyed by facet name (e.g. "category", "price", "attr.color") and value.
+     */
+    private Map<String, Map<String, Long>> facets;
+}
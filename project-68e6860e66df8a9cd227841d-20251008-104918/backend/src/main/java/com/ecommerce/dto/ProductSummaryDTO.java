@@ -0,0 +1,43 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Product fields rendered by product listings.
+ * Read through a projection, so descriptions, metadata, dimensions and all but the first image
+ * are never loaded for list pages.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDTO {
+
+    private String id;
+
+    private String sku;
+
+    private String name;
+
+    private BigDecimal price;
+
+    private String currency;
+
+    private String category;
+
+    private String subcategory;
+
+    /**
+     * The first product image, if any.
+     */
+    private String thumbnail;
+
+    private boolean inStock;
+
+    private boolean featured;
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.dto;
+
+import com.ecommerce.report.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parameters of a report job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    /**
+     * Only include records created at or after this time (sales reports).
+     */
+    private LocalDateTime from;
+
+    /**
+     * Only include records created before this time (sales reports).
+     */
+    private LocalDateTime to;
+
+    /**
+     * Only include orders with this status (sales reports).
+     */
+    private String status;
+
+    /**
+     * Only include products in this category (product reports).
+     */
+    private String category;
+}
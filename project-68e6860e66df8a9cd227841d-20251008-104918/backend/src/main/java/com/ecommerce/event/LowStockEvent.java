@@ -0,0 +1,39 @@
+package com.ecommerce.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when a product's available stock crosses the reorder notification threshold,
+ * either falling to or below it or being restocked above it.
+ */
+public class LowStockEvent extends ApplicationEvent {
+
+    private final String productId;
+    private final int available;
+    private final boolean low;
+
+    /**
+     * @param source the component that detected the crossing
+     * @param productId the ID of the product
+     * @param available the available quantity after the change
+     * @param low true if the stock fell to or below the threshold, false if it was restocked
+     */
+    public LowStockEvent(Object source, String productId, int available, boolean low) {
+        super(source);
+        this.productId = productId;
+        this.available = available;
+        this.low = low;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public boolean isLow() {
+        return low;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.event;
+
+import com.ecommerce.model.Product;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published after a product has been created, updated or deleted.
+ * Listeners use it to keep derived read models (search index, caches) in sync with MongoDB.
+ */
+public class ProductChangedEvent extends ApplicationEvent {
+
+    private final String productId;
+    private final Product product;
+
+    /**
+     * @param source the component that changed the product
+     * @param productId the ID of the changed product
+     * @param product the product as saved, or null if it was deleted
+     */
+    public ProductChangedEvent(Object source, String productId, Product product) {
+        super(source);
+        this.productId = productId;
+        this.product = product;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.event;
+
+import com.ecommerce.model.Product;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Event published after a batch of products has been created or updated in bulk, e.g. by a
+ * catalog import. Listeners refresh their derived read models once per batch instead of once per product.
+ */
+public class ProductsChangedEvent extends ApplicationEvent {
+
+    /**
+     * Product fields read by the listeners, besides the ID. Publishers reading back a batch only
+     * need to load these.
+     */
+    public static final String[] FIELDS = {
+            "sku", "name", "description", "category", "subcategory", "tags", "attributes", "price", "isActive"
+    };
+
+    private final List<Product> products;
+
+    /**
+     * @param source the component that changed the products
+     * @param products the saved products, with at least the {@link #FIELDS} loaded
+     */
+    public ProductsChangedEvent(Object source, List<Product> products) {
+        super(source);
+        this.products = List.copyOf(products);
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+}
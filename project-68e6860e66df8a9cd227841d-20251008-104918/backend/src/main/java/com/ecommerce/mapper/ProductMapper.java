@@ -0,0 +1,18 @@
+package com.ecommerce.mapper;
+
+import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.model.Product;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+/**
+ * Maps products to the full product DTOs returned by the product API.
+ */
+@Mapper(componentModel = "spring")
+public interface ProductMapper {
+
+    ProductDTO toDto(Product product);
+
+    List<ProductDTO> toDtos(List<Product> products);
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.mapper;
+
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.model.Product;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * Maps products read through the summary projection to listing DTOs.
+ */
+@Mapper(componentModel = "spring")
+public interface ProductSummaryMapper {
+
+    @Mapping(target = "thumbnail", expression = "java(product.getImages() == null || product.getImages().isEmpty() ? null : product.getImages().get(0))")
+    @Mapping(target = "inStock", expression = "java(product.getStockLevel() != null && product.getStockLevel() > 0)")
+    @Mapping(target = "featured", expression = "java(Boolean.TRUE.equals(product.getIsFeatured()))")
+    ProductSummaryDTO toSummary(Product product);
+
+    List<ProductSummaryDTO> toSummaries(List<Product> products);
+}
@@ -3,6 +3,7 @@ package com.ecommerce.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.NotBlank;
@@ -22,6 +23,7 @@ import java.util.Objects;
  * and payment information.
  */
 @Document(collection = "orders")
+@CompoundIndex(name = "status_createdAt_idx", def = "{'status': 1, 'createdAt': 1}")
 public class Order {
 
     @Id
@@ -0,0 +1,56 @@
+package com.ecommerce.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Domain event recorded in the same transaction as the order it belongs to, and published
+ * asynchronously afterwards. Maps to the 'order_outbox' collection in MongoDB.
+ * Dispatched events are removed by a TTL index; events that exhausted their retries are kept
+ * with status FAILED for inspection.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "order_outbox")
+@CompoundIndex(name = "status_nextAttemptAt_idx", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class OutboxEvent {
+
+    public static final String ORDER_CREATED = "OrderCreated";
+
+    public enum Status {
+        PENDING,
+        DISPATCHED,
+        FAILED
+    }
+
+    @Id
+    private String id;
+
+    private String orderId;
+
+    private String type;
+
+    private Status status;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    @Indexed(expireAfter = "7d")
+    private Instant dispatchedAt;
+}
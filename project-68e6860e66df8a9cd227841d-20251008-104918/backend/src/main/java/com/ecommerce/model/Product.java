@@ -4,6 +4,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.WildcardIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -57,6 +58,11 @@ public class Product {
 
     private String subcategory;
 
+    /**
+     * Free-form attributes (e.g. color, size). A wildcard index covers every attribute key,
+     * so equality filters on any attribute are index-backed.
+     */
+    @WildcardIndexed
     @Builder.Default
     private Map<String, String> attributes = new HashMap<>();
 
@@ -0,0 +1,58 @@
+package com.ecommerce.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user order statistics, maintained incrementally as orders are created and change status.
+ * Maps to the 'user_order_summaries' collection in MongoDB, keyed by user ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "user_order_summaries")
+public class UserOrderSummary {
+
+    @Id
+    private String userId;
+
+    @Builder.Default
+    private long totalOrders = 0;
+
+    @Builder.Default
+    private long pendingOrders = 0;
+
+    @Builder.Default
+    private long processingOrders = 0;
+
+    @Builder.Default
+    private long completedOrders = 0;
+
+    @Builder.Default
+    private long cancelledOrders = 0;
+
+    /**
+     * Total amount of completed and delivered orders, stored as Decimal128 so it can be incremented in place.
+     */
+    @Field(targetType = FieldType.DECIMAL128)
+    @Builder.Default
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+
+    /**
+     * Whether the counts include the orders placed before the summary was first recorded.
+     */
+    private boolean seeded;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.order;
+
+/**
+ * Strategy for generating order numbers.
+ * Implementations must return numbers that are unique across all application nodes.
+ */
+public interface OrderNumberGenerator {
+
+    /**
+     * @return a new, unique order number
+     */
+    String next();
+}
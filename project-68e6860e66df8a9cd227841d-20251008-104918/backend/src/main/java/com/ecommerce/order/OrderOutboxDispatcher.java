@@ -0,0 +1,236 @@
+package com.ecommerce.order;
+
+import com.ecommerce.event.OrderCreatedEvent;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OutboxEvent;
+import com.ecommerce.repository.OutboxEventRepository;
+import com.ecommerce.repository.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes order events recorded in the outbox.
+ *
+ * The dispatcher polls the outbox for the oldest due events, groups them by order and hands
+ * each group to a fixed pool of workers behind a bounded queue. A group is published in creation
+ * order on a single worker and stops at the first failure, and an order is never dispatched by
+ * two workers at once, so events of one order are always published in sequence. Failed events are
+ * retried with exponential backoff and marked FAILED once their attempts are exhausted.
+ *
+ * Only the node holding the dispatcher lease polls the outbox. Delivery is at least once: an event
+ * is published again if its acknowledgement is lost, so listeners must be idempotent.
+ */
+@Component
+@Slf4j
+public class OrderOutboxDispatcher {
+
+    static final String LEASE_NAME = "order-outbox-dispatcher";
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration leaseDuration;
+    private final ThreadPoolExecutor executor;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<String> inFlightOrders = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+    private final Timer deliveryLag;
+
+    public OrderOutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                                 SchedulerLeaseRepository leaseRepository,
+                                 MongoTemplate mongoTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.outbox.batch-size:200}") int batchSize,
+                                 @Value("${app.outbox.workers:4}") int workers,
+                                 @Value("${app.outbox.queue-capacity:100}") int queueCapacity,
+                                 @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                                 @Value("${app.outbox.retry-backoff:1s}") Duration retryBackoff,
+                                 @Value("${app.outbox.lease-duration:30s}") Duration leaseDuration) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.leaseRepository = leaseRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.leaseDuration = leaseDuration;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-dispatcher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest due outbox event")
+                .register(meterRegistry);
+        Gauge.builder("outbox.queue.depth", executor, e -> e.getQueue().size())
+                .description("Orders waiting for a dispatcher worker")
+                .register(meterRegistry);
+        this.dispatchedCounter = Counter.builder("outbox.dispatched")
+                .description("Outbox events published")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.failed")
+                .description("Failed outbox event delivery attempts")
+                .register(meterRegistry);
+        this.deadCounter = Counter.builder("outbox.dead")
+                .description("Outbox events that exhausted their delivery attempts")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from recording an outbox event to publishing it")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands the next batch of due events to the workers, if this node holds the lease.
+     * Orders that are still being dispatched, or that have an earlier event waiting for a retry,
+     * are skipped until a later poll.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!leaseRepository.tryAcquire(LEASE_NAME, nodeId, leaseDuration)) {
+            lagMillis.set(0);
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<OutboxEvent> pending = outboxEventRepository.findPending(now, batchSize);
+        lagMillis.set(pending.stream()
+                .map(OutboxEvent::getCreatedAt)
+                .min(Comparator.naturalOrder())
+                .map(oldest -> Duration.between(oldest, now).toMillis())
+                .orElse(0L));
+
+        Map<String, List<OutboxEvent>> eventsByOrder = pending.stream()
+                .sorted(Comparator.comparing(OutboxEvent::getCreatedAt))
+                .collect(Collectors.groupingBy(OutboxEvent::getOrderId, LinkedHashMap::new, Collectors.toList()));
+        eventsByOrder.keySet().removeAll(inFlightOrders);
+        eventsByOrder.keySet().removeAll(outboxEventRepository.findOrdersAwaitingRetry(eventsByOrder.keySet(), now));
+        if (eventsByOrder.isEmpty()) {
+            return;
+        }
+
+        Map<String, Order> orders = mongoTemplate.find(
+                        Query.query(Criteria.where("_id").in(eventsByOrder.keySet())), Order.class).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        for (Map.Entry<String, List<OutboxEvent>> entry : eventsByOrder.entrySet()) {
+            String orderId = entry.getKey();
+            if (!inFlightOrders.add(orderId)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> dispatch(orderId, entry.getValue(), orders.get(orderId)));
+            } catch (RejectedExecutionException e) {
+                // Workers are saturated; the remaining orders are picked up by a later poll
+                inFlightOrders.remove(orderId);
+                log.debug("Outbox dispatch queue is full, deferring the remaining orders");
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        leaseRepository.release(LEASE_NAME, nodeId);
+    }
+
+    private void dispatch(String orderId, List<OutboxEvent> events, Order order) {
+        List<String> delivered = new ArrayList<>(events.size());
+        try {
+            for (OutboxEvent event : events) {
+                try {
+                    publish(event, order);
+                } catch (RuntimeException e) {
+                    recordFailure(event, e);
+                    break;
+                }
+                delivered.add(event.getId());
+                deliveryLag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+            }
+            outboxEventRepository.markDispatched(delivered);
+            dispatchedCounter.increment(delivered.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to acknowledge outbox events for order {}, they will be published again", orderId, e);
+        } finally {
+            inFlightOrders.remove(orderId);
+        }
+    }
+
+    private void publish(OutboxEvent event, Order order) {
+        if (order == null) {
+            throw new IllegalStateException("Order not found: " + event.getOrderId());
+        }
+        if (OutboxEvent.ORDER_CREATED.equals(event.getType())) {
+            eventPublisher.publishEvent(new OrderCreatedEvent(order));
+        } else {
+            throw new IllegalStateException("Unknown outbox event type: " + event.getType());
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException error) {
+        int attempts = event.getAttempts() + 1;
+        failedCounter.increment();
+        if (attempts >= maxAttempts) {
+            deadCounter.increment();
+            log.error("Giving up on outbox event {} for order {} after {} attempts",
+                    event.getId(), event.getOrderId(), attempts, error);
+            outboxEventRepository.markAttemptFailed(event.getId(), null, error.toString());
+            return;
+        }
+
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        Instant nextAttemptAt = Instant.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff);
+        log.warn("Failed to publish outbox event {} for order {} (attempt {}), retrying at {}",
+                event.getId(), event.getOrderId(), attempts, nextAttemptAt, error);
+        outboxEventRepository.markAttemptFailed(event.getId(), nextAttemptAt, error.toString());
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.order;
+
+import com.ecommerce.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style order number generator.
+ * Each number encodes a 64-bit ID made of 41 bits of milliseconds since 2024-01-01, a 10-bit node
+ * ID and a 12-bit per-millisecond sequence, formatted as {@code ORD-YYYYMMDD-<base36 id>}.
+ *
+ * IDs are strictly increasing on each node and unique across nodes as long as every node has a
+ * distinct node ID. The node ID is either configured per replica with {@code app.order.number.node-id},
+ * or leased from MongoDB at startup and renewed periodically; a node whose lease has expired stops
+ * issuing numbers rather than risk sharing its node ID with the next holder. Generation is lock-free: the millisecond and sequence are packed into one
+ * {@link AtomicLong} and advanced with compare-and-set. When a millisecond's sequence is exhausted,
+ * or the clock moves backwards, the generator borrows the next logical millisecond instead of
+ * waiting, so it never blocks.
+ */
+@Component
+@Slf4j
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final String NODE_LEASE_PREFIX = "order-number-node:";
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Clock clock;
+    private final long nodeId;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final Duration leaseDuration;
+    private final String leaseOwner = UUID.randomUUID().toString();
+
+    /**
+     * Time in epoch milliseconds until which the node ID lease is known to be held.
+     */
+    private volatile long leaseExpiresAt = Long.MAX_VALUE;
+
+    /**
+     * Last issued (millisecond since epoch, sequence) pair, packed as {@code millis << SEQUENCE_BITS | sequence}.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public SnowflakeOrderNumberGenerator(@Value("${app.order.number.node-id:-1}") long nodeId,
+                                         SchedulerLeaseRepository leaseRepository,
+                                         @Value("${app.order.number.node-lease-duration:60s}") Duration leaseDuration) {
+        this.clock = Clock.systemUTC();
+        this.leaseRepository = nodeId < 0 ? leaseRepository : null;
+        this.leaseDuration = leaseDuration;
+        this.nodeId = nodeId < 0 ? leaseNodeId() : validate(nodeId);
+        log.info("Order number generator using node ID {}", this.nodeId);
+    }
+
+    SnowflakeOrderNumberGenerator(Clock clock, long nodeId) {
+        this.clock = clock;
+        this.leaseRepository = null;
+        this.leaseDuration = null;
+        this.nodeId = validate(nodeId);
+    }
+
+    @Override
+    public String next() {
+        if (clock.millis() >= leaseExpiresAt) {
+            throw new IllegalStateException("The lease on order number node ID " + nodeId + " has expired");
+        }
+        long id = nextId();
+        long millis = (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+        LocalDate date = Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC).toLocalDate();
+        return "ORD-" + date.format(DATE_FORMAT) + "-" + Long.toString(id, 36).toUpperCase();
+    }
+
+    /**
+     * @return the next 64-bit ID
+     */
+    long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = clock.millis() - EPOCH;
+            // Incrementing the packed state carries sequence overflow into the millisecond bits
+            long next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+            if (state.compareAndSet(current, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Renews the node ID lease well before it expires.
+     */
+    @Scheduled(fixedDelayString = "${app.order.number.node-lease-renew-interval-ms:20000}")
+    public void renewNodeLease() {
+        if (leaseRepository == null) {
+            return;
+        }
+        long renewedAt = clock.millis();
+        if (leaseRepository.tryAcquire(NODE_LEASE_PREFIX + nodeId, leaseOwner, leaseDuration)) {
+            leaseExpiresAt = renewedAt + leaseDuration.toMillis();
+        } else {
+            log.error("Could not renew the lease on order number node ID {}, order numbers stop once it expires", nodeId);
+        }
+    }
+
+    @PreDestroy
+    public void releaseNodeLease() {
+        if (leaseRepository != null) {
+            leaseRepository.release(NODE_LEASE_PREFIX + nodeId, leaseOwner);
+        }
+    }
+
+    /**
+     * Leases a free node ID, probing from a random start so that concurrently starting nodes
+     * rarely compete for the same ID.
+     */
+    private long leaseNodeId() {
+        long start = ThreadLocalRandom.current().nextLong(MAX_NODE_ID + 1);
+        for (long i = 0; i <= MAX_NODE_ID; i++) {
+            long candidate = (start + i) & MAX_NODE_ID;
+            long acquiredAt = clock.millis();
+            if (leaseRepository.tryAcquire(NODE_LEASE_PREFIX + candidate, leaseOwner, leaseDuration)) {
+                leaseExpiresAt = acquiredAt + leaseDuration.toMillis();
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("All order number node IDs are leased, set app.order.number.node-id");
+    }
+
+    private static long validate(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Order number node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        return nodeId;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.order;
+
+import com.ecommerce.event.OrderStatusChangedEvent;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OrderStatus;
+import com.ecommerce.repository.InventoryReservationRepository;
+import com.ecommerce.repository.SchedulerLeaseRepository;
+import com.ecommerce.repository.UserOrderSummaryRepository;
+import com.ecommerce.service.LowStockMonitor;
+import com.ecommerce.service.TransactionRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Scheduled job that cancels pending orders older than {@code app.order.auto-cancel-after-days}.
+ *
+ * Orders are processed in batches. Each batch is selected through the (status, createdAt) index
+ * and claimed with a single conditional update that only matches orders that are still pending,
+ * so orders that were paid or cancelled in the meantime are left alone. The inventory reserved by
+ * the claimed orders is summed per product and released in one bulk write, and the user order
+ * summaries are updated in another.
+ *
+ * Only the node holding the sweeper lease runs a sweep; the lease is renewed before every batch.
+ * A node that fails between claiming a batch and releasing its inventory leaves that stock
+ * reserved, which is logged as an error for manual correction.
+ */
+@Component
+@Slf4j
+public class StaleOrderSweeper {
+
+    static final String LEASE_NAME = "stale-order-sweeper";
+
+    private final MongoTemplate mongoTemplate;
+    private final InventoryReservationRepository inventoryReservationRepository;
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final LowStockMonitor lowStockMonitor;
+    private final TransactionRunner transactionRunner;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int autoCancelAfterDays;
+    private final int batchSize;
+    private final Duration leaseDuration;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public StaleOrderSweeper(MongoTemplate mongoTemplate,
+                             InventoryReservationRepository inventoryReservationRepository,
+                             UserOrderSummaryRepository userOrderSummaryRepository,
+                             SchedulerLeaseRepository leaseRepository,
+                             LowStockMonitor lowStockMonitor,
+                             TransactionRunner transactionRunner,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.order.auto-cancel-after-days:7}") int autoCancelAfterDays,
+                             @Value("${app.order.auto-cancel.batch-size:500}") int batchSize,
+                             @Value("${app.order.auto-cancel.lease-duration:5m}") Duration leaseDuration) {
+        this.mongoTemplate = mongoTemplate;
+        this.inventoryReservationRepository = inventoryReservationRepository;
+        this.userOrderSummaryRepository = userOrderSummaryRepository;
+        this.leaseRepository = leaseRepository;
+        this.lowStockMonitor = lowStockMonitor;
+        this.transactionRunner = transactionRunner;
+        this.eventPublisher = eventPublisher;
+        this.autoCancelAfterDays = autoCancelAfterDays;
+        this.batchSize = batchSize;
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * Cancels all expired pending orders, batch by batch, if this node holds the lease.
+     */
+    @Scheduled(fixedDelayString = "${app.order.auto-cancel.sweep-interval-ms:300000}")
+    public void sweep() {
+        if (!leaseRepository.tryAcquire(LEASE_NAME, nodeId, leaseDuration)) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(autoCancelAfterDays);
+        int total = 0;
+        try {
+            int cancelled;
+            do {
+                cancelled = cancelBatch(cutoff);
+                total += cancelled;
+            } while (cancelled == batchSize && leaseRepository.tryAcquire(LEASE_NAME, nodeId, leaseDuration));
+        } finally {
+            leaseRepository.release(LEASE_NAME, nodeId);
+        }
+
+        if (total > 0) {
+            log.info("Auto-cancelled {} pending orders created before {}", total, cutoff);
+        }
+    }
+
+    /**
+     * Claims and cancels one batch of expired pending orders.
+     *
+     * @return the number of candidate orders found; less than the batch size once the backlog is drained
+     */
+    int cancelBatch(LocalDateTime cutoff) {
+        Query candidates = Query.query(Criteria.where("status").is(OrderStatus.PENDING).and("createdAt").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, Order.class).stream()
+                .map(Order::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Claim claim = transactionRunner.execute(() -> claim(ids));
+        lowStockMonitor.refresh(claim.released().keySet());
+
+        for (Order order : claim.orders()) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order, OrderStatus.PENDING, OrderStatus.CANCELLED));
+        }
+
+        log.debug("Auto-cancelled {} of {} candidate orders, releasing {} products",
+                claim.orders().size(), ids.size(), claim.released().size());
+        return ids.size();
+    }
+
+    /**
+     * Cancels the candidates that are still pending, releases their inventory and updates the
+     * user order summaries. Runs inside the batch's transaction.
+     */
+    private Claim claim(List<String> ids) {
+        // Stamp the claim with a unique timestamp so the claimed orders can be read back exactly
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).and("status").is(OrderStatus.PENDING)),
+                new Update()
+                        .set("status", OrderStatus.CANCELLED)
+                        .set("cancelledAt", claimedAt)
+                        .set("updatedAt", claimedAt),
+                Order.class);
+        List<Order> claimed = mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(ids).and("cancelledAt").is(claimedAt)), Order.class);
+
+        Map<String, Integer> released = new HashMap<>();
+        Map<String, Long> cancelledByUser = new HashMap<>();
+        for (Order order : claimed) {
+            order.getItems().forEach(item -> released.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+            cancelledByUser.merge(order.getUserId(), 1L, Long::sum);
+        }
+
+        inventoryReservationRepository.releaseAll(released);
+        userOrderSummaryRepository.recordPendingCancelled(cancelledByUser);
+        return new Claim(claimed, released);
+    }
+
+    private record Claim(List<Order> orders, Map<String, Integer> released) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.report;
+
+import com.ecommerce.dto.ReportRequest;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * A report job and its progress.
+ * Jobs are updated by the worker thread and read by polling requests, so state is kept in volatile fields.
+ */
+@Getter
+public class ReportJob {
+
+    private final String id;
+    private final ReportRequest request;
+    private final LocalDateTime submittedAt;
+
+    private volatile ReportStatus status = ReportStatus.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile long rowCount;
+    private volatile String error;
+
+    @JsonIgnore
+    private volatile Path file;
+
+    public ReportJob(String id, ReportRequest request) {
+        this.id = id;
+        this.request = request;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = ReportStatus.RUNNING;
+    }
+
+    void markCompleted(Path file, long rowCount) {
+        this.file = file;
+        this.rowCount = rowCount;
+        completedAt = LocalDateTime.now();
+        status = ReportStatus.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        completedAt = LocalDateTime.now();
+        status = ReportStatus.FAILED;
+    }
+
+    /**
+     * @return true once the job has completed or failed
+     */
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == ReportStatus.COMPLETED || status == ReportStatus.FAILED;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.report;
+
+import com.ecommerce.dto.ReportRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service that runs report generation as background jobs.
+ * Jobs are executed by a fixed pool of workers behind a bounded queue; when the queue is full,
+ * new submissions are rejected instead of piling up. Finished reports are written to local disk
+ * and removed after the retention period.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private final ReportWriter reportWriter;
+    private final Path storagePath;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+
+    public ReportJobService(ReportWriter reportWriter,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.report.storage-path:/data/reports}") String storagePath,
+                            @Value("${app.report.workers:2}") int workers,
+                            @Value("${app.report.queue-capacity:20}") int queueCapacity,
+                            @Value("${app.report.retention-hours:24}") long retentionHours) throws IOException {
+        this.reportWriter = reportWriter;
+        this.meterRegistry = meterRegistry;
+        this.storagePath = Files.createDirectories(Paths.get(storagePath));
+        this.retention = Duration.ofHours(retentionHours);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("reports.queue.depth", executor, e -> e.getQueue().size())
+                .description("Report jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("reports.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Report jobs currently being generated")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("reports.rejected")
+                .description("Report jobs rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a report for generation.
+     *
+     * @param request the report parameters
+     * @return the queued job
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public ReportJob submit(ReportRequest request) {
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), request);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            rejectedCounter.increment();
+            log.warn("Rejected {} report job, queue is full", request.getType());
+            throw e;
+        }
+        log.info("Queued {} report job {}", request.getType(), job.getId());
+        return job;
+    }
+
+    /**
+     * Find a job by its ID.
+     *
+     * @param id the job ID
+     * @return an Optional containing the job if it exists and has not expired
+     */
+    public Optional<ReportJob> findJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Deletes finished reports older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.report.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getCompletedAt().isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ReportJob job) {
+        job.markRunning();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Path target = storagePath.resolve(job.getId() + ".xlsx");
+        Path partial = storagePath.resolve(job.getId() + ".xlsx.part");
+        String outcome = "success";
+
+        try {
+            long rows = reportWriter.write(job.getRequest(), partial);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.markCompleted(target, rows);
+            log.info("Generated {} report {} with {} rows", job.getRequest().getType(), job.getId(), rows);
+        } catch (Exception e) {
+            outcome = "failure";
+            deleteQuietly(partial);
+            job.markFailed(e.getMessage());
+            log.error("Failed to generate {} report {}", job.getRequest().getType(), job.getId(), e);
+        } finally {
+            sample.stop(Timer.builder("reports.generation")
+                    .description("Time taken to generate a report")
+                    .tag("type", job.getRequest().getType().name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+}
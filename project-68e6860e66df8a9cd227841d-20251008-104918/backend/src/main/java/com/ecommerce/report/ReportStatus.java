@@ -0,0 +1,11 @@
+package com.ecommerce.report;
+
+/**
+ * Lifecycle of a report job.
+ */
+public enum ReportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
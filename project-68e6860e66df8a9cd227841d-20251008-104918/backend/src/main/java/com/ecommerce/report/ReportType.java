@@ -0,0 +1,17 @@
+package com.ecommerce.report;
+
+/**
+ * Reports that can be generated as background jobs.
+ */
+public enum ReportType {
+
+    /**
+     * One row per order, filtered by creation date and status.
+     */
+    SALES,
+
+    /**
+     * One row per product in the catalog.
+     */
+    PRODUCTS
+}
@@ -0,0 +1,185 @@
+package com.ecommerce.report;
+
+import com.ecommerce.dto.ReportRequest;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.Product;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes reports as Excel workbooks with a streaming {@link SXSSFWorkbook}.
+ * Rows are read from a MongoDB cursor and only a small window of them is kept in memory;
+ * older rows are flushed to a temporary file, so memory use does not depend on report size.
+ */
+@Component
+public class ReportWriter {
+
+    private static final int MAX_DATA_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    private static final List<Column<Order>> SALES_COLUMNS = List.of(
+            new Column<>("Order Number", Order::getOrderNumber),
+            new Column<>("User ID", Order::getUserId),
+            new Column<>("Status", Order::getStatus),
+            new Column<>("Created At", Order::getCreatedAt),
+            new Column<>("Items", order -> order.getItems() == null ? 0 : order.getItems().size()),
+            new Column<>("Subtotal", Order::getSubtotal),
+            new Column<>("Tax", Order::getTax),
+            new Column<>("Shipping", Order::getShippingCost),
+            new Column<>("Total", Order::getTotal),
+            new Column<>("Currency", Order::getCurrency));
+
+    private static final List<Column<Product>> PRODUCT_COLUMNS = List.of(
+            new Column<>("SKU", Product::getSku),
+            new Column<>("Name", Product::getName),
+            new Column<>("Category", Product::getCategory),
+            new Column<>("Subcategory", Product::getSubcategory),
+            new Column<>("Price", Product::getPrice),
+            new Column<>("Currency", Product::getCurrency),
+            new Column<>("Stock Level", Product::getStockLevel),
+            new Column<>("Active", Product::getIsActive),
+            new Column<>("Updated At", Product::getUpdatedAt));
+
+    private final MongoTemplate mongoTemplate;
+    private final int rowAccessWindow;
+    private final int batchSize;
+
+    public ReportWriter(MongoTemplate mongoTemplate,
+                        @Value("${app.report.row-access-window:100}") int rowAccessWindow,
+                        @Value("${app.export.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.rowAccessWindow = rowAccessWindow;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes the requested report to a file.
+     *
+     * @param request the report parameters
+     * @param target the file to write
+     * @return the number of data rows written
+     * @throws IOException if the file cannot be written
+     */
+    public long write(ReportRequest request, Path target) throws IOException {
+        return switch (request.getType()) {
+            case SALES -> write(salesQuery(request), Order.class, SALES_COLUMNS, "Sales", target);
+            case PRODUCTS -> write(productQuery(request), Product.class, PRODUCT_COLUMNS, "Products", target);
+        };
+    }
+
+    private Query salesQuery(ReportRequest request) {
+        Query query = new Query();
+        if (StringUtils.hasText(request.getStatus())) {
+            query.addCriteria(Criteria.where("status").is(request.getStatus()));
+        }
+        if (request.getFrom() != null || request.getTo() != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (request.getFrom() != null) {
+                createdAt.gte(request.getFrom());
+            }
+            if (request.getTo() != null) {
+                createdAt.lt(request.getTo());
+            }
+            query.addCriteria(createdAt);
+        }
+        return query;
+    }
+
+    private Query productQuery(ReportRequest request) {
+        Query query = new Query();
+        if (StringUtils.hasText(request.getCategory())) {
+            query.addCriteria(Criteria.where("category").is(request.getCategory()));
+        }
+        return query;
+    }
+
+    private <T> long write(Query query, Class<T> type, List<Column<T>> columns, String sheetName, Path target)
+            throws IOException {
+        query.cursorBatchSize(batchSize);
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowAccessWindow);
+        workbook.setCompressTempFiles(true);
+        try (Stream<T> documents = mongoTemplate.stream(query, type);
+             OutputStream out = Files.newOutputStream(target)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+
+            long count = 0;
+            int sheetNumber = 1;
+            Sheet sheet = createSheet(workbook, sheetName, sheetNumber, columns);
+            int rowIndex = 1;
+
+            Iterator<T> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                if (rowIndex > MAX_DATA_ROWS_PER_SHEET) {
+                    sheet = createSheet(workbook, sheetName, ++sheetNumber, columns);
+                    rowIndex = 1;
+                }
+                T document = iterator.next();
+                Row row = sheet.createRow(rowIndex++);
+                for (int i = 0; i < columns.size(); i++) {
+                    setCellValue(row.createCell(i), columns.get(i).value().apply(document), dateStyle);
+                }
+                count++;
+            }
+
+            workbook.write(out);
+            return count;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private <T> Sheet createSheet(SXSSFWorkbook workbook, String name, int number, List<Column<T>> columns) {
+        Sheet sheet = workbook.createSheet(number == 1 ? name : name + " " + number);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < columns.size(); i++) {
+            header.createCell(i).setCellValue(columns.get(i).header());
+        }
+        return sheet;
+    }
+
+    private void setCellValue(Cell cell, Object value, CellStyle dateStyle) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            cell.setCellValue(decimal.doubleValue());
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(dateStyle);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    /**
+     * A report column and the function extracting its value from a document.
+     */
+    private record Column<T>(String header, Function<T, Object> value) {
+    }
+}
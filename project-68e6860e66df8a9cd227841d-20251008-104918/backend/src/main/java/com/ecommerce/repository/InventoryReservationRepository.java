@@ -0,0 +1,313 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.Order;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Repository for atomic inventory reservations.
+ * Reserves stock with conditional check-and-decrement updates against the inventory collection,
+ * either per product or for a whole cart in a single bulk write, releases stock in bulk, and manages the stock blocks
+ * that nodes allocate for locally reserved hot products.
+ *
+ * Allocated stock is also recorded per node in {@code allocations.<nodeId>}, so that the
+ * allocation of a node that stopped without returning it can be reclaimed.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryReservationRepository {
+
+    static final String COLLECTION = "inventory";
+    static final String PRODUCT_ID = "productId";
+    static final String AVAILABLE = "available";
+    static final String RESERVED = "reserved";
+    static final String ALLOCATED = "allocated";
+    static final String PENDING_RESERVATIONS = "pendingReservations";
+    static final String ALLOCATIONS = "allocations";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Creates the index on the available quantity used by low-stock range queries. The inventory
+     * collection has no mapped entity, so the index is not created from annotations.
+     */
+    @PostConstruct
+    public void ensureIndexes() {
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index().on(AVAILABLE, Sort.Direction.ASC));
+    }
+
+    /**
+     * Atomically checks and reserves stock for a single product with one findAndModify.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity to reserve
+     * @return the remaining available quantity, or empty if there was not enough stock
+     */
+    public OptionalInt reserve(String productId, int quantity) {
+        Document inventory = mongoTemplate.findAndModify(
+                Query.query(Criteria.where(PRODUCT_ID).is(productId).and(AVAILABLE).gte(quantity)),
+                new Update().inc(AVAILABLE, -quantity).inc(RESERVED, quantity),
+                FindAndModifyOptions.options().returnNew(true),
+                Document.class,
+                COLLECTION);
+        return inventory == null ? OptionalInt.empty() : OptionalInt.of(inventory.getInteger(AVAILABLE, 0));
+    }
+
+    /**
+     * Atomically moves a block of available stock into a node's local allocation.
+     *
+     * @param productId the product ID
+     * @param units the number of units to allocate
+     * @param nodeId the node receiving the allocation
+     * @return the remaining available quantity, or empty if there was not enough stock
+     */
+    public OptionalInt allocate(String productId, int units, String nodeId) {
+        Document inventory = mongoTemplate.findAndModify(
+                Query.query(Criteria.where(PRODUCT_ID).is(productId).and(AVAILABLE).gte(units)),
+                new Update().inc(AVAILABLE, -units).inc(ALLOCATED, units).inc(allocationOf(nodeId), units),
+                FindAndModifyOptions.options().returnNew(true),
+                Document.class,
+                COLLECTION);
+        return inventory == null ? OptionalInt.empty() : OptionalInt.of(inventory.getInteger(AVAILABLE, 0));
+    }
+
+    /**
+     * Read the available quantity of the given products in one query.
+     *
+     * @param productIds the product IDs
+     * @return available quantity keyed by product ID, for products that have an inventory record
+     */
+    public Map<String, Integer> findAvailable(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return findAvailable(Query.query(Criteria.where(PRODUCT_ID).in(productIds)));
+    }
+
+    /**
+     * Read all products whose available quantity is at or below a threshold, using the index on
+     * the available quantity.
+     *
+     * @param threshold the stock threshold
+     * @return available quantity keyed by product ID
+     */
+    public Map<String, Integer> findAvailableAtOrBelow(int threshold) {
+        return findAvailable(Query.query(Criteria.where(AVAILABLE).lte(threshold)));
+    }
+
+    /**
+     * Converts locally reserved units from allocated to reserved stock in one bulk write.
+     *
+     * @param consumed units reserved locally since the last flush, keyed by product ID
+     * @param nodeId the node that reserved the units
+     */
+    public void commitAllocations(Map<String, Integer> consumed, String nodeId) {
+        applyAllocationDeltas(consumed, RESERVED, nodeId);
+    }
+
+    /**
+     * Returns unused allocated units to available stock in one bulk write.
+     *
+     * @param unused unused allocated units keyed by product ID
+     * @param nodeId the node returning the units
+     */
+    public void returnAllocations(Map<String, Integer> unused, String nodeId) {
+        applyAllocationDeltas(unused, AVAILABLE, nodeId);
+    }
+
+    /**
+     * Removes the allocation records of a node that holds no allocated stock any more.
+     *
+     * @param nodeId the node ID
+     */
+    public void clearEmptyAllocations(String nodeId) {
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where(allocationOf(nodeId)).is(0)),
+                new Update().unset(allocationOf(nodeId)),
+                COLLECTION);
+    }
+
+    /**
+     * Reads the outstanding allocations of all nodes.
+     *
+     * @return allocated units keyed by node ID, then by product ID
+     */
+    public Map<String, Map<String, Integer>> findAllocations() {
+        Query query = Query.query(Criteria.where(ALLOCATIONS).exists(true));
+        query.fields().include(PRODUCT_ID).include(ALLOCATIONS);
+        Map<String, Map<String, Integer>> allocations = new HashMap<>();
+        for (Document inventory : mongoTemplate.find(query, Document.class, COLLECTION)) {
+            Document byNode = inventory.get(ALLOCATIONS, Document.class);
+            byNode.forEach((nodeId, units) -> allocations
+                    .computeIfAbsent(nodeId, id -> new HashMap<>())
+                    .put(inventory.getString(PRODUCT_ID), ((Number) units).intValue()));
+        }
+        return allocations;
+    }
+
+    /**
+     * Sums the quantity of each product in orders created since the given time, in one aggregation.
+     *
+     * @param productIds the product IDs
+     * @param since the earliest order creation time to include
+     * @return ordered quantity keyed by product ID, for products that were ordered
+     */
+    public Map<String, Integer> sumOrderedSince(Collection<String> productIds, LocalDateTime since) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("createdAt").gte(since).and("items.productId").in(productIds)),
+                Aggregation.unwind("items"),
+                Aggregation.match(Criteria.where("items.productId").in(productIds)),
+                Aggregation.group("items.productId").sum("items.quantity").as("quantity"));
+
+        Map<String, Integer> ordered = new HashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, Order.class, Document.class)) {
+            ordered.put(group.getString("_id"), ((Number) group.get("quantity")).intValue());
+        }
+        return ordered;
+    }
+
+    /**
+     * Takes back the allocation a stopped node held for a product. Units the node may have
+     * reserved without recording them are moved to reserved stock, the rest is returned to
+     * available stock. The update only applies if the allocation is still the one that was read,
+     * so concurrent reconciliations cannot reclaim it twice.
+     *
+     * @param productId the product ID
+     * @param nodeId the stopped node
+     * @param allocated the allocation of the node as read
+     * @param consumed units to treat as reserved, at most {@code allocated}
+     * @return true if the allocation was reclaimed
+     */
+    public boolean reclaimAllocation(String productId, String nodeId, int allocated, int consumed) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where(PRODUCT_ID).is(productId).and(allocationOf(nodeId)).is(allocated)),
+                new Update()
+                        .inc(ALLOCATED, -allocated)
+                        .inc(RESERVED, consumed)
+                        .inc(AVAILABLE, allocated - consumed)
+                        .unset(allocationOf(nodeId)),
+                COLLECTION);
+        return result.getModifiedCount() > 0;
+    }
+
+    /**
+     * Returns reserved stock to available stock for all products in one unordered bulk write,
+     * e.g. for a batch of cancelled orders.
+     *
+     * @param quantities quantity to release keyed by product ID
+     */
+    public void releaseAll(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        BulkOperations release = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        quantities.forEach((productId, quantity) -> release.updateOne(
+                Query.query(Criteria.where(PRODUCT_ID).is(productId)),
+                new Update().inc(AVAILABLE, quantity).inc(RESERVED, -quantity)));
+        release.execute();
+    }
+
+    /**
+     * Reserves the requested quantities for all products in one unordered bulk write.
+     * Each update only matches when enough stock is available and tags the document with the
+     * reservation ID, so a partial reservation can be rolled back precisely.
+     *
+     * @param quantities quantity to reserve keyed by product ID
+     * @param reservationId unique identifier of this reservation (e.g. the order number)
+     * @return true if every product was reserved, false if the reservation was rolled back
+     */
+    public boolean reserveAll(Map<String, Integer> quantities, String reservationId) {
+        if (quantities.isEmpty()) {
+            return true;
+        }
+
+        BulkOperations reserve = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        quantities.forEach((productId, quantity) -> reserve.updateOne(
+                Query.query(Criteria.where(PRODUCT_ID).is(productId).and(AVAILABLE).gte(quantity)),
+                new Update()
+                        .inc(AVAILABLE, -quantity)
+                        .inc(RESERVED, quantity)
+                        .addToSet(PENDING_RESERVATIONS, reservationId)));
+
+        BulkWriteResult result = reserve.execute();
+        if (result.getMatchedCount() == quantities.size()) {
+            clearReservationTag(quantities, reservationId);
+            return true;
+        }
+
+        log.debug("Reservation {} matched {} of {} products, rolling back",
+                reservationId, result.getMatchedCount(), quantities.size());
+        rollback(quantities, reservationId);
+        return false;
+    }
+
+    /**
+     * Reverts every product that was reserved under the given reservation ID.
+     * Products that were not matched by the reservation carry no tag and are left untouched.
+     */
+    private void rollback(Map<String, Integer> quantities, String reservationId) {
+        BulkOperations revert = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        quantities.forEach((productId, quantity) -> revert.updateOne(
+                Query.query(Criteria.where(PRODUCT_ID).is(productId).and(PENDING_RESERVATIONS).is(reservationId)),
+                new Update()
+                        .inc(AVAILABLE, quantity)
+                        .inc(RESERVED, -quantity)
+                        .pull(PENDING_RESERVATIONS, reservationId)));
+        revert.execute();
+    }
+
+    /**
+     * Removes the reservation tag once the whole cart has been reserved.
+     */
+    private void clearReservationTag(Map<String, Integer> quantities, String reservationId) {
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where(PRODUCT_ID).in(quantities.keySet()).and(PENDING_RESERVATIONS).is(reservationId)),
+                new Update().pull(PENDING_RESERVATIONS, reservationId),
+                COLLECTION);
+    }
+
+    private Map<String, Integer> findAvailable(Query query) {
+        query.fields().include(PRODUCT_ID).include(AVAILABLE);
+        Map<String, Integer> available = new HashMap<>();
+        for (Document inventory : mongoTemplate.find(query, Document.class, COLLECTION)) {
+            available.put(inventory.getString(PRODUCT_ID), inventory.getInteger(AVAILABLE, 0));
+        }
+        return available;
+    }
+
+    private void applyAllocationDeltas(Map<String, Integer> deltas, String targetField, String nodeId) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        deltas.forEach((productId, units) -> bulk.updateOne(
+                Query.query(Criteria.where(PRODUCT_ID).is(productId)),
+                new Update().inc(ALLOCATED, -units).inc(allocationOf(nodeId), -units).inc(targetField, units)));
+        bulk.execute();
+    }
+
+    private static String allocationOf(String nodeId) {
+        return ALLOCATIONS + "." + nodeId;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository for the order outbox.
+ * Events are appended inside the caller's transaction and read back by the dispatcher once they
+ * are due, which acknowledges delivered events in bulk.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventRepository {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Append an event for an order.
+     *
+     * @param orderId the order ID
+     * @param type the event type
+     * @return the stored event
+     */
+    public OutboxEvent append(String orderId, String type) {
+        Instant now = Instant.now();
+        return mongoTemplate.insert(OutboxEvent.builder()
+                .orderId(orderId)
+                .type(type)
+                .status(OutboxEvent.Status.PENDING)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    /**
+     * Find the pending events that are due, oldest first. Events are due when created and again
+     * when their retry backoff has elapsed, so the query is served by the status/nextAttemptAt index.
+     *
+     * @param now the current time
+     * @param limit the maximum number of events to return
+     * @return due events ordered by their next attempt time
+     */
+    public List<OutboxEvent> findPending(Instant now, int limit) {
+        Query query = Query.query(Criteria.where("status").is(OutboxEvent.Status.PENDING).and("nextAttemptAt").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, OutboxEvent.class);
+    }
+
+    /**
+     * Find which of the given orders have a pending event waiting for a retry. Later events of
+     * such an order must not be published before it.
+     *
+     * @param orderIds the order IDs
+     * @param now the current time
+     * @return the IDs of orders with an event in backoff
+     */
+    public Set<String> findOrdersAwaitingRetry(Collection<String> orderIds, Instant now) {
+        if (orderIds.isEmpty()) {
+            return Set.of();
+        }
+        Query query = Query.query(Criteria.where("status").is(OutboxEvent.Status.PENDING)
+                .and("nextAttemptAt").gt(now)
+                .and("orderId").in(orderIds));
+        return new HashSet<>(mongoTemplate.findDistinct(query, "orderId", OutboxEvent.class, String.class));
+    }
+
+    /**
+     * Mark events as delivered with a single update.
+     *
+     * @param ids the event IDs
+     */
+    public void markDispatched(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids)),
+                new Update().set("status", OutboxEvent.Status.DISPATCHED).set("dispatchedAt", now),
+                OutboxEvent.class);
+    }
+
+    /**
+     * Record a failed delivery attempt.
+     *
+     * @param id the event ID
+     * @param nextAttemptAt when to retry, or null if the event should not be retried
+     * @param error description of the failure
+     */
+    public void markAttemptFailed(String id, Instant nextAttemptAt, String error) {
+        Update update = new Update()
+                .inc("attempts", 1)
+                .set("lastError", error != null && error.length() > MAX_ERROR_LENGTH
+                        ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (nextAttemptAt == null) {
+            update.set("status", OutboxEvent.Status.FAILED);
+        } else {
+            update.set("nextAttemptAt", nextAttemptAt);
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), update, OutboxEvent.class);
+    }
+}
@@ -1,8 +1,12 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -18,20 +22,59 @@ import java.util.Optional;
 @Repository
 public interface ProductRepository extends MongoRepository<Product, String> {
 
+    /**
+     * Projection of the fields rendered by product listings; only the first image is returned.
+     */
+    String SUMMARY_FIELDS = "{'sku': 1, 'name': 1, 'price': 1, 'currency': 1, 'category': 1, 'subcategory': 1, "
+            + "'images': {$slice: 1}, 'stockLevel': 1, 'isFeatured': 1}";
+
+    /**
+     * Find a page of products, reading only the listing fields
+     * @param pageable pagination information
+     * @return a page of partially loaded products
+     */
+    @Query(value = "{}", fields = SUMMARY_FIELDS)
+    Page<Product> findSummaries(Pageable pageable);
+
+    /**
+     * Find a page of products in a category, reading only the listing fields
+     * @param category the category name
+     * @param pageable pagination information
+     * @return a page of partially loaded products
+     */
+    @Query(value = "{'category': ?0}", fields = SUMMARY_FIELDS)
+    Page<Product> findSummariesByCategory(String category, Pageable pageable);
+
+    /**
+     * Find active featured products, reading only the listing fields
+     * @param pageable pagination information, used to limit the result
+     * @return list of partially loaded products
+     */
+    @Query(value = "{'isFeatured': true, 'isActive': true}", fields = SUMMARY_FIELDS)
+    List<Product> findFeaturedSummaries(Pageable pageable);
+
+    /**
+     * Find active featured products
+     * @param pageable pagination information, used to limit the result
+     * @return list of featured products
+     */
+    @Query("{'isFeatured': true, 'isActive': true}")
+    List<Product> findActiveFeatured(Pageable pageable);
+
     /**
      * Find a product by its SKU
      * @param sku the product SKU
      * @return an Optional containing the product if found
      */
     Optional<Product> findBySku(String sku);
-    
+
     /**
      * Find all products belonging to a specific category
      * @param category the category name
      * @return list of products in the category
      */
     List<Product> findByCategory(String category);
-    
+
     /**
      * Find all products belonging to a specific category and subcategory
      * @param category the category name
@@ -39,7 +82,7 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      * @return list of products in the category and subcategory
      */
     List<Product> findByCategoryAndSubcategory(String category, String subcategory);
-    
+
     /**
      * Find products with price less than or equal to the specified amount
      * @param price the maximum price
@@ -47,7 +90,7 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      * @return a page of products
      */
     Page<Product> findByPriceLessThanEqual(BigDecimal price, Pageable pageable);
-    
+
     /**
      * Find products with price greater than or equal to the specified amount
      * @param price the minimum price
@@ -55,7 +98,7 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      * @return a page of products
      */
     Page<Product> findByPriceGreaterThanEqual(BigDecimal price, Pageable pageable);
-    
+
     /**
      * Find products with price between the specified range
      * @param minPrice the minimum price
@@ -64,7 +107,7 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      * @return a page of products
      */
     Page<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
-    
+
     /**
      * Search products by name containing the search term (case insensitive)
      * @param searchTerm the search term
@@ -73,7 +116,7 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      */
     @Query("{'name': {$regex: ?0, $options: 'i'}}")
     Page<Product> searchByNameContainingIgnoreCase(String searchTerm, Pageable pageable);
-    
+
     /**
      * Search products by description containing the search term (case insensitive)
      * @param searchTerm the search term
@@ -82,7 +125,7 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      */
     @Query("{'description': {$regex: ?0, $options: 'i'}}")
     Page<Product> searchByDescriptionContainingIgnoreCase(String searchTerm, Pageable pageable);
-    
+
     /**
      * Find products by specific attribute value
      * @param attributeName the name of the attribute
@@ -91,7 +134,17 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      */
     @Query("{'attributes.?0': ?1}")
     List<Product> findByAttributeValue(String attributeName, String attributeValue);
-    
+
+    /**
+     * Find a page of products by specific attribute value, using the wildcard index on attributes
+     * @param attributeName the name of the attribute
+     * @param attributeValue the value of the attribute
+     * @param pageable pagination information
+     * @return a page of products with the specified attribute value
+     */
+    @Query("{'attributes.?0': ?1}")
+    Page<Product> findByAttributeValue(String attributeName, String attributeValue, Pageable pageable);
+
     /**
      * Find products that are in stock (available quantity > 0)
      * @param pageable pagination information
@@ -99,39 +152,51 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      */
     @Query("{'inventory.available': {$gt: 0}}")
     Page<Product> findInStockProducts(Pageable pageable);
-    
+
     /**
-     * Find products that are low in stock (available quantity <= reorderLevel)
+     * Find products that are low in stock (available quantity <= reorderLevel).
+     * This compares two fields of each document and cannot use an index.
      * @return list of products that need restocking
+     * @deprecated use {@link com.ecommerce.service.LowStockMonitor#findLowStock}, which is maintained incrementally
      */
-    @Query("{'inventory.available': {$lte: '$inventory.reorderLevel'}}")
+    @Deprecated
+    @Query("{$expr: {$lte: ['$inventory.available', '$inventory.reorderLevel']}}")
     List<Product> findLowStockProducts();
-    
+
     /**
      * Find products by tags
      * @param tag the tag to search for
      * @return list of products with the specified tag
      */
     List<Product> findByTagsContaining(String tag);
-    
+
     /**
      * Find featured products
      * @param pageable pagination information
      * @return a page of featured products
      */
     Page<Product> findByFeaturedTrue(Pageable pageable);
-    
+
     /**
      * Find active products
      * @param pageable pagination information
      * @return a page of active products
      */
     Page<Product> findByIsActiveTrue(Pageable pageable);
-    
+
     /**
      * Count products by category
      * @param category the category name
      * @return the count of products in the category
      */
     long countByCategory(String category);
-}
\ No newline at end of file
+
+    /**
+     * Find a window of products with keyset scrolling, without counting the collection
+     * @param position the position to continue after
+     * @param limit the maximum number of products to return
+     * @param sort the sort order, ending with a unique property
+     * @return a window of products
+     */
+    Window<Product> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+}
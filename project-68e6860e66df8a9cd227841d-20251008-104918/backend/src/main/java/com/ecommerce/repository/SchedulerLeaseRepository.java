@@ -0,0 +1,79 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.SchedulerLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repository for scheduler leases.
+ * A lease is taken or renewed with a single conditional upsert that only matches when the lease
+ * has expired or is already held by the caller; a competing insert fails on the unique ID.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLeaseRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Acquire or renew a lease.
+     *
+     * @param name the lease name
+     * @param owner identifier of the node requesting the lease
+     * @param duration how long the lease is held unless renewed or released
+     * @return true if the caller now holds the lease
+     */
+    public boolean tryAcquire(String name, String owner, Duration duration) {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("expiresAt").lt(now), Criteria.where("owner").is(owner)));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", now.plus(duration));
+
+        try {
+            SchedulerLease lease = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLease.class);
+            return lease != null && owner.equals(lease.getOwner());
+        } catch (DuplicateKeyException e) {
+            log.debug("Lease {} is held by another node", name);
+            return false;
+        }
+    }
+
+    /**
+     * Find when a lease expires unless it is renewed.
+     *
+     * @param name the lease name
+     * @return the expiry of the lease, or empty if it was never taken
+     */
+    public Optional<Instant> findExpiry(String name) {
+        return Optional.ofNullable(mongoTemplate.findById(name, SchedulerLease.class))
+                .map(SchedulerLease::getExpiresAt);
+    }
+
+    /**
+     * Release a lease held by the caller so another node can take it immediately.
+     *
+     * @param name the lease name
+     * @param owner identifier of the node holding the lease
+     */
+    public void release(String name, String owner) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(name).and("owner").is(owner)),
+                new Update().set("expiresAt", Instant.now()),
+                SchedulerLease.class);
+    }
+}
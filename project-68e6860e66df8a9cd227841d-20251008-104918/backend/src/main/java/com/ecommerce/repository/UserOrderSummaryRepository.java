@@ -0,0 +1,197 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OrderStatus;
+import com.ecommerce.model.UserOrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository for per-user order summaries.
+ * Summaries are kept current with atomic upserting $inc updates as orders are created and change
+ * status, and are seeded once from a server-side aggregation over the orders collection. Until it
+ * has been seeded, a summary only holds the changes recorded so far and is not returned by
+ * {@link #findByUserId}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserOrderSummaryRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Find the maintained summary for a user.
+     *
+     * @param userId the user ID
+     * @return an Optional containing the summary if it has been seeded
+     */
+    public Optional<UserOrderSummary> findByUserId(String userId) {
+        return Optional.ofNullable(mongoTemplate.findOne(
+                Query.query(Criteria.where("_id").is(userId).and("seeded").is(true)), UserOrderSummary.class));
+    }
+
+    /**
+     * Seed the summary for a user from the orders collection, replacing any counts recorded so far.
+     * Must run in a transaction: an order recorded after the aggregation read its snapshot then
+     * causes a write conflict, and the seed is retried, instead of the order being lost.
+     *
+     * @param userId the user ID
+     * @return the stored summary
+     */
+    public UserOrderSummary seed(String userId) {
+        UserOrderSummary summary = aggregateFromOrders(userId);
+        summary.setSeeded(true);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(userId)),
+                new Update()
+                        .set("totalOrders", summary.getTotalOrders())
+                        .set("pendingOrders", summary.getPendingOrders())
+                        .set("processingOrders", summary.getProcessingOrders())
+                        .set("completedOrders", summary.getCompletedOrders())
+                        .set("cancelledOrders", summary.getCancelledOrders())
+                        .set("totalSpent", new Decimal128(summary.getTotalSpent()))
+                        .set("seeded", true)
+                        .set("updatedAt", summary.getUpdatedAt()),
+                UserOrderSummary.class);
+        return summary;
+    }
+
+    /**
+     * Compute a user's summary with a single $group over their orders, grouped by status.
+     *
+     * @param userId the user ID
+     * @return the computed summary (not persisted)
+     */
+    public UserOrderSummary aggregateFromOrders(String userId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId)),
+                Aggregation.group("status")
+                        .count().as("count")
+                        .sum(ConvertOperators.valueOf("total").convertToDecimal()).as("amount"));
+
+        UserOrderSummary summary = UserOrderSummary.builder()
+                .userId(userId)
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        for (Document group : mongoTemplate.aggregate(aggregation, Order.class, Document.class)) {
+            OrderStatus status = OrderStatus.valueOf(group.getString("_id"));
+            long count = ((Number) group.get("count")).longValue();
+            summary.setTotalOrders(summary.getTotalOrders() + count);
+
+            switch (status) {
+                case PENDING -> summary.setPendingOrders(summary.getPendingOrders() + count);
+                case PROCESSING -> summary.setProcessingOrders(summary.getProcessingOrders() + count);
+                case CANCELLED -> summary.setCancelledOrders(summary.getCancelledOrders() + count);
+                case COMPLETED, DELIVERED -> {
+                    summary.setCompletedOrders(summary.getCompletedOrders() + count);
+                    summary.setTotalSpent(summary.getTotalSpent().add(toBigDecimal(group.get("amount"))));
+                }
+                default -> { }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Atomically record a newly created order in the user's summary, creating the summary if needed.
+     *
+     * @param userId the user ID
+     * @param status the initial order status
+     * @param amount the order total
+     */
+    public void recordOrderCreated(String userId, OrderStatus status, BigDecimal amount) {
+        Map<String, Long> counts = new HashMap<>();
+        counts.put("totalOrders", 1L);
+        BigDecimal spent = addStatusDelta(counts, status, 1, amount);
+        applyDeltas(userId, counts, spent);
+    }
+
+    /**
+     * Atomically move an order from one status bucket to another in the user's summary.
+     *
+     * @param userId the user ID
+     * @param oldStatus the previous order status
+     * @param newStatus the new order status
+     * @param amount the order total
+     */
+    public void recordStatusChange(String userId, OrderStatus oldStatus, OrderStatus newStatus, BigDecimal amount) {
+        Map<String, Long> counts = new HashMap<>();
+        BigDecimal spent = addStatusDelta(counts, oldStatus, -1, amount)
+                .add(addStatusDelta(counts, newStatus, 1, amount));
+        applyDeltas(userId, counts, spent);
+    }
+
+    /**
+     * Atomically record a batch of cancelled pending orders with one bulk write, one update per user.
+     * Cancelling a pending order does not change the total spent. Users without a summary are
+     * skipped, since their orders predate summaries and seeding will include them.
+     *
+     * @param cancelledByUser number of cancelled orders keyed by user ID
+     */
+    public void recordPendingCancelled(Map<String, Long> cancelledByUser) {
+        if (cancelledByUser.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserOrderSummary.class);
+        cancelledByUser.forEach((userId, count) -> bulk.updateOne(
+                Query.query(Criteria.where("_id").is(userId)),
+                new Update()
+                        .inc("pendingOrders", -count)
+                        .inc("cancelledOrders", count)
+                        .set("updatedAt", now)));
+        bulk.execute();
+    }
+
+    /**
+     * Adds the count delta for the status bucket and returns the resulting change in total spent.
+     */
+    private BigDecimal addStatusDelta(Map<String, Long> counts, OrderStatus status, long delta, BigDecimal amount) {
+        switch (status) {
+            case PENDING -> counts.merge("pendingOrders", delta, Long::sum);
+            case PROCESSING -> counts.merge("processingOrders", delta, Long::sum);
+            case CANCELLED -> counts.merge("cancelledOrders", delta, Long::sum);
+            case COMPLETED, DELIVERED -> {
+                counts.merge("completedOrders", delta, Long::sum);
+                return amount.multiply(BigDecimal.valueOf(delta));
+            }
+            default -> { }
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private void applyDeltas(String userId, Map<String, Long> counts, BigDecimal spent) {
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        counts.forEach((field, delta) -> {
+            if (delta != 0) {
+                update.inc(field, delta);
+            }
+        });
+        if (spent.signum() != 0) {
+            update.inc("totalSpent", new Decimal128(spent));
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(userId)), update, UserOrderSummary.class);
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        return value == null ? BigDecimal.ZERO : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,337 @@
+package com.ecommerce.search;
+
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.event.ProductsChangedEvent;
+import com.ecommerce.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory facet index over active products.
+ * Keeps one roaring bitmap of product ordinals per facet value (category, subcategory, tag,
+ * price bucket and attribute value), so filtered listings and their facet counts are answered
+ * with bitmap operations instead of MongoDB queries. Rebuilt on startup and updated from
+ * {@link ProductChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class ProductFacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String SUBCATEGORY = "subcategory";
+    public static final String TAG = "tag";
+    public static final String PRICE = "price";
+    public static final String ATTRIBUTE_PREFIX = "attr.";
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxFacetValues;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> productIds = new ArrayList<>();
+    private final List<Map<String, List<String>>> valuesByOrdinal = new ArrayList<>();
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private volatile boolean ready;
+
+    /**
+     * IDs of products changed by events while a rebuild runs, guarded by the write lock. The rebuild
+     * skips them, since the event has already indexed a newer version than the rebuild cursor may
+     * have read, or removed a deleted product.
+     */
+    private final Set<String> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    public ProductFacetIndex(MongoTemplate mongoTemplate,
+                             @Value("${app.product.search.max-facet-values:20}") int maxFacetValues) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxFacetValues = maxFacetValues;
+    }
+
+    /**
+     * Loads facet values for all products once the application has started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Building product facet index");
+        long start = System.currentTimeMillis();
+        Query query = new Query();
+        query.fields().include("category", "subcategory", "tags", "attributes", "price", "isActive");
+
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        boolean completed = false;
+        try (Stream<Product> products = mongoTemplate.stream(query, Product.class)) {
+            products.forEach(this::indexFromRebuild);
+            completed = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+                // Changes made during the rebuild were applied as they arrived, so the index is current here
+                if (completed) {
+                    ready = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Built facet index for {} products in {} ms", live.getCardinality(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Keeps the bitmaps in sync with product writes, once they are committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(event.getProductId());
+            }
+            if (event.isDeleted()) {
+                remove(event.getProductId());
+            } else {
+                index(event.getProduct());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a batch of saved products under a single acquisition of the write lock.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : event.getProducts()) {
+                if (rebuilding) {
+                    changedDuringRebuild.add(product.getId());
+                }
+                index(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true once the initial build has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Lists active products matching the filters, with facet counts.
+     * Values within a dimension are OR-ed and dimensions are AND-ed. Facet counts for a dimension
+     * ignore that dimension's own filter, so alternative values remain selectable.
+     *
+     * @param filters selected values keyed by dimension (e.g. "category", "attr.color")
+     * @param offset number of matching products to skip
+     * @param limit maximum number of product IDs to return
+     * @param withFacets whether to compute facet counts
+     * @return the requested page of product IDs, the total match count and optional facet counts
+     */
+    public BrowseResult browse(Map<String, List<String>> filters, int offset, int limit, boolean withFacets) {
+        lock.readLock().lock();
+        try {
+            Map<String, RoaringBitmap> selections = new HashMap<>();
+            filters.forEach((dimension, values) -> selections.put(dimension, union(dimension, values)));
+
+            RoaringBitmap matches = intersect(selections, null);
+            List<String> page = page(matches, offset, limit);
+            Map<String, Map<String, Long>> facets = withFacets
+                    ? countFacets(selections)
+                    : Collections.emptyMap();
+            return new BrowseResult(page, matches.getLongCardinality(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexFromRebuild(Product product) {
+        lock.writeLock().lock();
+        try {
+            if (!changedDuringRebuild.contains(product.getId())) {
+                index(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.computeIfAbsent(product.getId(), id -> {
+                productIds.add(id);
+                valuesByOrdinal.add(Collections.emptyMap());
+                return productIds.size() - 1;
+            });
+            clear(ordinal);
+            if (!Boolean.FALSE.equals(product.getIsActive())) {
+                Map<String, List<String>> values = facetValues(product);
+                values.forEach((dimension, dimensionValues) -> dimensionValues.forEach(value -> bitmaps
+                        .computeIfAbsent(dimension, d -> new HashMap<>())
+                        .computeIfAbsent(value, v -> new RoaringBitmap())
+                        .add(ordinal)));
+                valuesByOrdinal.set(ordinal, values);
+                live.add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an ordinal from every bitmap it was added to; the ordinal itself is kept for reuse.
+     */
+    private void clear(int ordinal) {
+        valuesByOrdinal.get(ordinal).forEach((dimension, values) -> {
+            Map<String, RoaringBitmap> dimensionBitmaps = bitmaps.get(dimension);
+            for (String value : values) {
+                RoaringBitmap bitmap = dimensionBitmaps.get(value);
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    dimensionBitmaps.remove(value);
+                }
+            }
+        });
+        valuesByOrdinal.set(ordinal, Collections.emptyMap());
+        live.remove(ordinal);
+    }
+
+    private Map<String, List<String>> facetValues(Product product) {
+        Map<String, List<String>> values = new HashMap<>();
+        if (product.getCategory() != null) {
+            values.put(CATEGORY, List.of(product.getCategory()));
+        }
+        if (product.getSubcategory() != null) {
+            values.put(SUBCATEGORY, List.of(product.getSubcategory()));
+        }
+        if (product.getTags() != null && !product.getTags().isEmpty()) {
+            values.put(TAG, List.copyOf(product.getTags()));
+        }
+        if (product.getPrice() != null) {
+            values.put(PRICE, List.of(ProductSearchIndex.priceBucket(product.getPrice())));
+        }
+        if (product.getAttributes() != null) {
+            product.getAttributes().forEach((key, value) -> {
+                if (value != null) {
+                    values.put(ATTRIBUTE_PREFIX + key, List.of(value));
+                }
+            });
+        }
+        return values;
+    }
+
+    private RoaringBitmap union(String dimension, List<String> values) {
+        Map<String, RoaringBitmap> dimensionBitmaps = bitmaps.getOrDefault(dimension, Collections.emptyMap());
+        RoaringBitmap[] selected = values.stream()
+                .map(dimensionBitmaps::get)
+                .filter(Objects::nonNull)
+                .toArray(RoaringBitmap[]::new);
+        return selected.length == 0 ? new RoaringBitmap() : FastAggregation.or(selected);
+    }
+
+    /**
+     * Intersects the live products with every selection except the excluded dimension.
+     */
+    private RoaringBitmap intersect(Map<String, RoaringBitmap> selections, String excludedDimension) {
+        RoaringBitmap result = live.clone();
+        selections.forEach((dimension, selection) -> {
+            if (!dimension.equals(excludedDimension)) {
+                result.and(selection);
+            }
+        });
+        return result;
+    }
+
+    private List<String> page(RoaringBitmap matches, int offset, int limit) {
+        List<String> page = new ArrayList<>(limit);
+        if (offset >= matches.getLongCardinality()) {
+            return page;
+        }
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select(offset));
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add(productIds.get(iterator.next()));
+        }
+        return page;
+    }
+
+    private Map<String, Map<String, Long>> countFacets(Map<String, RoaringBitmap> selections) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        RoaringBitmap allSelected = intersect(selections, null);
+        bitmaps.forEach((dimension, dimensionBitmaps) -> {
+            RoaringBitmap base = selections.containsKey(dimension) ? intersect(selections, dimension) : allSelected;
+            Map<String, Long> counts = new LinkedHashMap<>();
+            dimensionBitmaps.entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), RoaringBitmap.andCardinality(base, entry.getValue())))
+                    .filter(entry -> entry.getValue() > 0)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                    .limit(maxFacetValues)
+                    .forEach(entry -> counts.put(entry.getKey(), entry.getValue().longValue()));
+            if (!counts.isEmpty()) {
+                facets.put(dimension, counts);
+            }
+        });
+        return facets;
+    }
+
+    /**
+     * Result of a faceted listing.
+     *
+     * @param productIds product IDs for the requested page
+     * @param totalHits total number of matching products
+     * @param facets facet counts keyed by dimension and value, empty if not requested
+     */
+    public record BrowseResult(List<String> productIds, long totalHits, Map<String, Map<String, Long>> facets) {
+    }
+}
@@ -0,0 +1,416 @@
+package com.ecommerce.search;
+
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.event.ProductsChangedEvent;
+import com.ecommerce.model.Product;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over the product catalog.
+ * Indexes name, description, tags and attribute values for relevance-ranked full-text search,
+ * with category and price-bucket facets. The index is rebuilt from MongoDB on startup and kept
+ * current incrementally from {@link ProductChangedEvent}s; searches see changes after the next refresh.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String TAGS = "tags";
+    static final String ATTRIBUTES = "attributes";
+    static final String CATEGORY = "category";
+    static final String PRICE = "price";
+    static final String PRICE_BUCKET = "priceBucket";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            NAME, 3.0f,
+            TAGS, 2.0f,
+            ATTRIBUTES, 1.5f,
+            DESCRIPTION, 1.0f);
+
+    private static final int[] PRICE_BUCKET_BOUNDS = {25, 50, 100, 250, 500};
+
+    private final MongoTemplate mongoTemplate;
+    private final String indexPath;
+    private final int maxFacetValues;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile CachedFacetState facetState;
+    private volatile boolean ready;
+
+    /**
+     * Orders rebuild writes against incremental updates. While a rebuild runs, the IDs of products
+     * changed by events are recorded and the rebuild skips them, since the event has already indexed
+     * a newer version than the rebuild cursor may have read, or removed a deleted product.
+     */
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Set<String> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private boolean rebuilding;
+
+    public ProductSearchIndex(MongoTemplate mongoTemplate,
+                              @Value("${app.product.search.index-path}") String indexPath,
+                              @Value("${app.product.search.max-facet-values:20}") int maxFacetValues) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexPath = indexPath;
+        this.maxFacetValues = maxFacetValues;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexPath));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Rebuilds the index from the products collection once the application has started.
+     * Until the rebuild completes, {@link #isReady()} returns false and callers should fall back to MongoDB.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Rebuilding product search index at {}", indexPath);
+        long start = System.currentTimeMillis();
+        long count = 0;
+        try {
+            updateLock.lock();
+            try {
+                rebuilding = true;
+                changedDuringRebuild.clear();
+                writer.deleteAll();
+            } finally {
+                updateLock.unlock();
+            }
+            try (Stream<Product> products = mongoTemplate.stream(new org.springframework.data.mongodb.core.query.Query(), Product.class)) {
+                for (Product product : (Iterable<Product>) products::iterator) {
+                    if (indexFromRebuild(product)) {
+                        count++;
+                    }
+                }
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+            ready = true;
+            log.info("Indexed {} products in {} ms", count, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.error("Failed to rebuild product search index", e);
+        } finally {
+            updateLock.lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Keeps the index in sync with product writes, once they are committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        updateLock.lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(event.getProductId());
+            }
+            if (event.isDeleted()) {
+                writer.deleteDocuments(new Term(ID, event.getProductId()));
+            } else {
+                writer.updateDocument(new Term(ID, event.getProductId()), toDocument(event.getProduct()));
+            }
+        } catch (IOException e) {
+            log.error("Failed to update search index for product {}", event.getProductId(), e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Updates the documents of a batch of saved products under a single acquisition of the update lock.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        updateLock.lock();
+        try {
+            for (Product product : event.getProducts()) {
+                if (rebuilding) {
+                    changedDuringRebuild.add(product.getId());
+                }
+                try {
+                    writer.updateDocument(new Term(ID, product.getId()), toDocument(product));
+                } catch (IOException e) {
+                    log.error("Failed to update search index for product {}", product.getId(), e);
+                }
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Makes recent index updates visible to searches.
+     */
+    @Scheduled(fixedDelayString = "${app.product.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Periodically commits index updates to disk.
+     */
+    @Scheduled(fixedDelayString = "${app.product.search.commit-interval-ms:60000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    /**
+     * @return true once the initial rebuild has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Searches the catalog, ranking matches by relevance.
+     *
+     * @param text free-text query, or blank to match all products
+     * @param category optional category filter
+     * @param minPrice optional minimum price
+     * @param maxPrice optional maximum price
+     * @param offset number of ranked hits to skip
+     * @param limit maximum number of hits to return
+     * @param withFacets whether to compute category and price-bucket facet counts
+     * @return matching product IDs in relevance order, the total hit count and optional facet counts
+     */
+    public SearchHits search(String text, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                             int offset, int limit, boolean withFacets) {
+        Query query = buildQuery(text, category, minPrice, maxPrice);
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            FacetsCollector facetsCollector = new FacetsCollector();
+            TopDocs topDocs = FacetsCollector.search(searcher, query, Math.max(offset + limit, 1), facetsCollector);
+
+            StoredFields storedFields = searcher.storedFields();
+            List<String> ids = new ArrayList<>(limit);
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = offset; i < scoreDocs.length && ids.size() < limit; i++) {
+                ids.add(storedFields.document(scoreDocs[i].doc).get(ID));
+            }
+
+            Map<String, Map<String, Long>> facets = withFacets
+                    ? countFacets(searcher.getIndexReader(), facetsCollector)
+                    : Collections.emptyMap();
+            return new SearchHits(ids, topDocs.totalHits.value, facets);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product search failed", e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release index searcher", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps a price to its facet bucket label, e.g. "25-50" or "500+".
+     *
+     * @param price the product price
+     * @return the bucket label
+     */
+    public static String priceBucket(BigDecimal price) {
+        int lower = 0;
+        for (int bound : PRICE_BUCKET_BOUNDS) {
+            if (price.compareTo(BigDecimal.valueOf(bound)) < 0) {
+                return lower + "-" + bound;
+            }
+            lower = bound;
+        }
+        return lower + "+";
+    }
+
+    private boolean indexFromRebuild(Product product) throws IOException {
+        updateLock.lock();
+        try {
+            if (changedDuringRebuild.contains(product.getId())) {
+                return false;
+            }
+            writer.updateDocument(new Term(ID, product.getId()), toDocument(product));
+            return true;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private Query buildQuery(String text, String category, BigDecimal minPrice, BigDecimal maxPrice) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        if (StringUtils.hasText(text)) {
+            SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+            parser.setDefaultOperator(BooleanClause.Occur.MUST);
+            builder.add(parser.parse(text), BooleanClause.Occur.MUST);
+        } else {
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        if (StringUtils.hasText(category)) {
+            builder.add(new TermQuery(new Term(CATEGORY, category)), BooleanClause.Occur.FILTER);
+        }
+        if (minPrice != null || maxPrice != null) {
+            builder.add(DoublePoint.newRangeQuery(PRICE,
+                    minPrice == null ? Double.NEGATIVE_INFINITY : minPrice.doubleValue(),
+                    maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice.doubleValue()),
+                    BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private Document toDocument(Product product) throws IOException {
+        Document doc = new Document();
+        doc.add(new StringField(ID, product.getId(), Field.Store.YES));
+        if (product.getName() != null) {
+            doc.add(new TextField(NAME, product.getName(), Field.Store.NO));
+        }
+        if (product.getDescription() != null) {
+            doc.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        }
+        if (product.getTags() != null) {
+            product.getTags().forEach(tag -> doc.add(new TextField(TAGS, tag, Field.Store.NO)));
+        }
+        if (product.getAttributes() != null) {
+            product.getAttributes().forEach((key, value) ->
+                    doc.add(new TextField(ATTRIBUTES, key + " " + value, Field.Store.NO)));
+        }
+        if (product.getCategory() != null) {
+            doc.add(new StringField(CATEGORY, product.getCategory(), Field.Store.NO));
+            doc.add(new SortedSetDocValuesFacetField(CATEGORY, product.getCategory()));
+        }
+        if (product.getPrice() != null) {
+            doc.add(new DoublePoint(PRICE, product.getPrice().doubleValue()));
+            doc.add(new SortedSetDocValuesFacetField(PRICE_BUCKET, priceBucket(product.getPrice())));
+        }
+        return facetsConfig.build(doc);
+    }
+
+    private Map<String, Map<String, Long>> countFacets(IndexReader reader, FacetsCollector collector) throws IOException {
+        if (reader.numDocs() == 0) {
+            return Collections.emptyMap();
+        }
+        Facets facets = new SortedSetDocValuesFacetCounts(facetState(reader), collector);
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (String dimension : List.of(CATEGORY, PRICE_BUCKET)) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            FacetResult facetResult = facets.getTopChildren(maxFacetValues, dimension);
+            if (facetResult != null) {
+                for (LabelAndValue labelAndValue : facetResult.labelValues) {
+                    counts.put(labelAndValue.label, labelAndValue.value.longValue());
+                }
+            }
+            result.put(dimension, counts);
+        }
+        return result;
+    }
+
+    /**
+     * The facet reader state is expensive to build, so it is reused until the searcher is refreshed.
+     */
+    private SortedSetDocValuesReaderState facetState(IndexReader reader) throws IOException {
+        CachedFacetState cached = facetState;
+        if (cached == null || cached.reader() != reader) {
+            cached = new CachedFacetState(reader, new DefaultSortedSetDocValuesReaderState(reader, facetsConfig));
+            facetState = cached;
+        }
+        return cached.state();
+    }
+
+    private record CachedFacetState(IndexReader reader, SortedSetDocValuesReaderState state) {
+    }
+
+    /**
+     * Result of a catalog search.
+     *
+     * @param productIds matching product IDs for the requested page, in relevance order
+     * @param totalHits total number of matching products
+     * @param facets facet counts keyed by dimension and value, empty if not requested
+     */
+    public record SearchHits(List<String> productIds, long totalHits, Map<String, Map<String, Long>> facets) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.search;
+
+/**
+ * Thrown when a request needs the search index before its startup rebuild has finished.
+ */
+public class SearchIndexNotReadyException extends RuntimeException {
+
+    public SearchIndexNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,204 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ExportFormat;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service that exports products and orders for downstream feeds.
+ * Documents are read through a MongoDB cursor and written one at a time to the output stream,
+ * so memory use does not grow with the size of the export. Writes block while the client is
+ * slow to read, which in turn stops the cursor from fetching further batches.
+ */
+@Service
+@Slf4j
+public class DataExportService {
+
+    private static final List<Column<Product>> PRODUCT_COLUMNS = List.of(
+            new Column<>("id", Product::getId),
+            new Column<>("sku", Product::getSku),
+            new Column<>("name", Product::getName),
+            new Column<>("category", Product::getCategory),
+            new Column<>("subcategory", Product::getSubcategory),
+            new Column<>("price", Product::getPrice),
+            new Column<>("currency", Product::getCurrency),
+            new Column<>("stockLevel", Product::getStockLevel),
+            new Column<>("isActive", Product::getIsActive),
+            new Column<>("isFeatured", Product::getIsFeatured),
+            new Column<>("tags", product -> product.getTags() == null ? null : String.join("|", product.getTags())),
+            new Column<>("createdAt", Product::getCreatedAt),
+            new Column<>("updatedAt", Product::getUpdatedAt));
+
+    private static final List<Column<Order>> ORDER_COLUMNS = List.of(
+            new Column<>("id", Order::getId),
+            new Column<>("orderNumber", Order::getOrderNumber),
+            new Column<>("userId", Order::getUserId),
+            new Column<>("status", Order::getStatus),
+            new Column<>("itemCount", order -> order.getItems() == null ? 0 : order.getItems().size()),
+            new Column<>("subtotal", Order::getSubtotal),
+            new Column<>("tax", Order::getTax),
+            new Column<>("shippingCost", Order::getShippingCost),
+            new Column<>("total", Order::getTotal),
+            new Column<>("currency", Order::getCurrency),
+            new Column<>("createdAt", Order::getCreatedAt),
+            new Column<>("updatedAt", Order::getUpdatedAt),
+            new Column<>("shippedAt", Order::getShippedAt),
+            new Column<>("deliveredAt", Order::getDeliveredAt),
+            new Column<>("cancelledAt", Order::getCancelledAt));
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectWriter jsonWriter;
+    private final int batchSize;
+
+    public DataExportService(MongoTemplate mongoTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        // Let the generator buffer fill up instead of flushing after every document
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Exports products, optionally limited to a category or to products updated since a given time.
+     *
+     * @param format the output format
+     * @param category the category to export, or null for all categories
+     * @param updatedSince only export products updated at or after this time, or null for all
+     * @param out the stream to write to; it is flushed but not closed
+     * @return the number of exported products
+     * @throws IOException if writing to the stream fails
+     */
+    public long exportProducts(ExportFormat format, String category, LocalDateTime updatedSince, OutputStream out)
+            throws IOException {
+        Query query = new Query();
+        if (StringUtils.hasText(category)) {
+            query.addCriteria(Criteria.where("category").is(category));
+        }
+        if (updatedSince != null) {
+            query.addCriteria(Criteria.where("updatedAt").gte(updatedSince));
+        }
+        return export(query, Product.class, PRODUCT_COLUMNS, format, out);
+    }
+
+    /**
+     * Exports orders, optionally limited to a status and a creation time range.
+     *
+     * @param format the output format
+     * @param status the order status to export, or null for all statuses
+     * @param from only export orders created at or after this time, or null
+     * @param to only export orders created before this time, or null
+     * @param out the stream to write to; it is flushed but not closed
+     * @return the number of exported orders
+     * @throws IOException if writing to the stream fails
+     */
+    public long exportOrders(ExportFormat format, String status, LocalDateTime from, LocalDateTime to,
+                             OutputStream out) throws IOException {
+        Query query = new Query();
+        if (StringUtils.hasText(status)) {
+            query.addCriteria(Criteria.where("status").is(status));
+        }
+        if (from != null || to != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (from != null) {
+                createdAt.gte(from);
+            }
+            if (to != null) {
+                createdAt.lt(to);
+            }
+            query.addCriteria(createdAt);
+        }
+        return export(query, Order.class, ORDER_COLUMNS, format, out);
+    }
+
+    private <T> long export(Query query, Class<T> type, List<Column<T>> columns, ExportFormat format,
+                            OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        query.cursorBatchSize(batchSize);
+
+        long count;
+        try (Stream<T> documents = mongoTemplate.stream(query, type)) {
+            count = format == ExportFormat.CSV
+                    ? writeCsv(documents.iterator(), columns, out)
+                    : writeNdjson(documents.iterator(), out);
+        }
+
+        log.info("Exported {} {} documents as {} in {} ms",
+                count, type.getSimpleName(), format, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private <T> long writeNdjson(Iterator<T> documents, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = jsonWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (documents.hasNext()) {
+                jsonWriter.writeValue(generator, documents.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private <T> long writeCsv(Iterator<T> documents, List<Column<T>> columns, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(columns.stream().map(Column::header).collect(Collectors.joining(",")));
+        writer.write("\r\n");
+        while (documents.hasNext()) {
+            T document = documents.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(columns.get(i).value().apply(document)));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * A named CSV column and the function extracting its value from a document.
+     */
+    private record Column<T>(String header, Function<T, Object> value) {
+    }
+}
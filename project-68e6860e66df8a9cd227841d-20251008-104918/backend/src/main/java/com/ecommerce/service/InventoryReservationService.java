@@ -0,0 +1,370 @@
+package com.ecommerce.service;
+
+import com.ecommerce.repository.InventoryReservationRepository;
+import com.ecommerce.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service that reserves inventory for orders.
+ * Regular products are reserved with conditional check-and-decrement updates in MongoDB: a single
+ * findAndModify for one product, or one bulk write for a cart of several products.
+ * Configured hot products are reserved from a block of stock allocated to this node and held in
+ * striped in-memory counters; the consumed units are flushed to MongoDB in batches.
+ * The resulting stock levels are reported to the {@link LowStockMonitor}: directly from the
+ * findAndModify result, or through a deferred refresh after a bulk write.
+ *
+ * Each node renews a lease on every flush. If a node stops without returning its allocations,
+ * another node reclaims them once the lease has expired: units ordered since the node's last
+ * flush are treated as reserved, and the rest is returned to available stock.
+ */
+@Service
+@Slf4j
+public class InventoryReservationService {
+
+    static final String ALLOCATION_LEASE_PREFIX = "inventory-allocations:";
+    static final String RECONCILER_LEASE_NAME = "inventory-allocation-reconciler";
+
+    /**
+     * Tolerance for clock differences between nodes when looking up orders placed by a stopped node.
+     */
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(5);
+
+    private final InventoryReservationRepository reservationRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final LowStockMonitor lowStockMonitor;
+    private final Set<String> hotProductIds;
+    private final int allocationBlockSize;
+    private final int stripeCount;
+    private final Duration leaseDuration;
+    private final Map<String, HotProductCounter> counters = new ConcurrentHashMap<>();
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public InventoryReservationService(
+            InventoryReservationRepository reservationRepository,
+            SchedulerLeaseRepository leaseRepository,
+            LowStockMonitor lowStockMonitor,
+            @Value("${app.inventory.hot-products.ids:}") List<String> hotProductIds,
+            @Value("${app.inventory.hot-products.allocation-block-size:50}") int allocationBlockSize,
+            @Value("${app.inventory.hot-products.stripes:8}") int stripeCount,
+            @Value("${app.inventory.hot-products.lease-duration:30s}") Duration leaseDuration) {
+        this.reservationRepository = reservationRepository;
+        this.leaseRepository = leaseRepository;
+        this.lowStockMonitor = lowStockMonitor;
+        this.hotProductIds = new HashSet<>(hotProductIds);
+        this.allocationBlockSize = allocationBlockSize;
+        this.stripeCount = stripeCount;
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * Reserves stock for all products of an order, all or nothing.
+     * Hot products are reserved locally first; the remaining products are reserved with a single
+     * findAndModify or bulk write. If any product cannot be reserved, all local reservations are released.
+     *
+     * @param quantities quantity to reserve keyed by product ID
+     * @param reservationId unique identifier of this reservation (e.g. the order number)
+     * @return true if every product was reserved, false otherwise
+     */
+    public boolean reserveAll(Map<String, Integer> quantities, String reservationId) {
+        Map<String, Integer> reservedLocally = new HashMap<>();
+        Map<String, Integer> remaining = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            if (!isHot(entry.getKey())) {
+                remaining.put(entry.getKey(), entry.getValue());
+            } else if (reserveHot(entry.getKey(), entry.getValue())) {
+                reservedLocally.put(entry.getKey(), entry.getValue());
+            } else {
+                releaseLocal(reservedLocally);
+                return false;
+            }
+        }
+
+        boolean reserved = remaining.size() == 1
+                ? reserveOne(remaining.keySet().iterator().next(), remaining.values().iterator().next())
+                : reserveMany(remaining, reservationId);
+        if (!reserved) {
+            releaseLocal(reservedLocally);
+        }
+        return reserved;
+    }
+
+    /**
+     * Releases stock reserved by {@link #reserveAll}, when the order it was reserved for could
+     * not be created. Hot products are returned to the local counters.
+     *
+     * @param quantities quantity to release keyed by product ID
+     */
+    public void release(Map<String, Integer> quantities) {
+        Map<String, Integer> remaining = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            if (isHot(productId)) {
+                counters.get(productId).release(quantity);
+            } else {
+                remaining.put(productId, quantity);
+            }
+        });
+        if (!remaining.isEmpty()) {
+            reservationRepository.releaseAll(remaining);
+            lowStockMonitor.refreshLater(remaining.keySet());
+        }
+    }
+
+    /**
+     * Flushes units reserved locally since the last flush to MongoDB in one bulk write, and
+     * renews this node's allocation lease once everything reserved so far is recorded.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.hot-products.flush-interval-ms:500}")
+    public void flush() {
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> consumed = new HashMap<>();
+        counters.forEach((productId, counter) -> {
+            int units = counter.drainConsumed();
+            if (units != 0) {
+                consumed.put(productId, units);
+            }
+        });
+
+        try {
+            reservationRepository.commitAllocations(consumed, nodeId);
+            if (!consumed.isEmpty()) {
+                log.debug("Flushed locally reserved inventory for {} hot products", consumed.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to flush locally reserved inventory, will retry", e);
+            consumed.forEach((productId, units) -> counters.get(productId).restoreConsumed(units));
+            return;
+        }
+        renewLease();
+    }
+
+    /**
+     * Reclaims the allocations of nodes whose lease has expired. Only the node holding the
+     * reconciler lease runs it.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.hot-products.reconcile-interval-ms:60000}")
+    public void reconcileAllocations() {
+        if (!leaseRepository.tryAcquire(RECONCILER_LEASE_NAME, nodeId, leaseDuration)) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        reservationRepository.findAllocations().forEach((owner, allocations) -> {
+            if (owner.equals(nodeId)) {
+                return;
+            }
+            Optional<Instant> expiry = leaseRepository.findExpiry(ALLOCATION_LEASE_PREFIX + owner);
+            if (expiry.isPresent() && expiry.get().isAfter(now)) {
+                return;
+            }
+            reclaim(owner, allocations, expiry.map(e -> e.minus(leaseDuration)).orElse(Instant.EPOCH));
+        });
+    }
+
+    /**
+     * Flushes pending reservations and returns unused allocated stock on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (counters.isEmpty()) {
+            return;
+        }
+        flush();
+        Map<String, Integer> unused = new HashMap<>();
+        counters.forEach((productId, counter) -> {
+            int units = counter.drainAvailable();
+            if (units > 0) {
+                unused.put(productId, units);
+            }
+        });
+        reservationRepository.returnAllocations(unused, nodeId);
+        reservationRepository.clearEmptyAllocations(nodeId);
+        leaseRepository.release(ALLOCATION_LEASE_PREFIX + nodeId, nodeId);
+        log.info("Returned unused inventory allocations for {} hot products", unused.size());
+    }
+
+    private boolean isHot(String productId) {
+        return hotProductIds.contains(productId);
+    }
+
+    private boolean reserveOne(String productId, int quantity) {
+        OptionalInt remaining = reservationRepository.reserve(productId, quantity);
+        remaining.ifPresent(available -> lowStockMonitor.record(productId, available));
+        return remaining.isPresent();
+    }
+
+    private boolean reserveMany(Map<String, Integer> quantities, String reservationId) {
+        if (!reservationRepository.reserveAll(quantities, reservationId)) {
+            return false;
+        }
+        if (!quantities.isEmpty()) {
+            // The bulk write returns no documents; read the new stock levels off the checkout path
+            lowStockMonitor.refreshLater(quantities.keySet());
+        }
+        return true;
+    }
+
+    private boolean reserveHot(String productId, int quantity) {
+        HotProductCounter counter = counters.computeIfAbsent(productId, id -> new HotProductCounter(stripeCount));
+        if (counter.tryReserve(quantity)) {
+            return true;
+        }
+
+        // A lock rather than synchronized: the refill blocks on MongoDB, which would pin a virtual thread
+        counter.refillLock.lock();
+        try {
+            // Another thread may have refilled the counter, and stock may be spread across stripes
+            counter.consolidate();
+            if (counter.tryReserve(quantity)) {
+                return true;
+            }
+
+            renewLease();
+            int block = Math.max(allocationBlockSize, quantity);
+            OptionalInt remaining = reservationRepository.allocate(productId, block, nodeId);
+            if (remaining.isEmpty()) {
+                // Not enough stock left for a full block, allocate only what this reservation needs
+                if (block == quantity) {
+                    return false;
+                }
+                remaining = reservationRepository.allocate(productId, quantity, nodeId);
+                if (remaining.isEmpty()) {
+                    return false;
+                }
+                block = quantity;
+            }
+            lowStockMonitor.record(productId, remaining.getAsInt());
+            counter.add(block);
+            return counter.tryReserve(quantity);
+        } finally {
+            counter.refillLock.unlock();
+        }
+    }
+
+    private void releaseLocal(Map<String, Integer> reservedLocally) {
+        reservedLocally.forEach((productId, quantity) -> counters.get(productId).release(quantity));
+    }
+
+    private void renewLease() {
+        if (!leaseRepository.tryAcquire(ALLOCATION_LEASE_PREFIX + nodeId, nodeId, leaseDuration)) {
+            log.warn("Could not renew the inventory allocation lease of node {}", nodeId);
+        }
+    }
+
+    /**
+     * Reclaims the allocations of a stopped node. Units reserved on that node after its last
+     * flush are unknown, so every unit ordered since then, on any node, is counted as consumed.
+     * This can leave a few units reserved that were not, but never returns a sold unit.
+     */
+    private void reclaim(String owner, Map<String, Integer> allocations, Instant lastFlush) {
+        LocalDateTime since = LocalDateTime.ofInstant(lastFlush.minus(CLOCK_SKEW), ZoneId.systemDefault());
+        Map<String, Integer> ordered = reservationRepository.sumOrderedSince(allocations.keySet(), since);
+
+        allocations.forEach((productId, allocated) -> {
+            int consumed = Math.max(0, Math.min(allocated, ordered.getOrDefault(productId, 0)));
+            if (reservationRepository.reclaimAllocation(productId, owner, allocated, consumed)) {
+                log.warn("Reclaimed {} allocated units of product {} from stopped node {}, {} counted as reserved",
+                        allocated, productId, owner, consumed);
+            }
+        });
+        lowStockMonitor.refresh(allocations.keySet());
+    }
+
+    /**
+     * Striped counter holding the locally allocated stock of one hot product.
+     * Each thread decrements its own stripe, so concurrent reservations rarely contend.
+     */
+    private static final class HotProductCounter {
+
+        private final AtomicInteger[] available;
+        private final AtomicInteger[] consumed;
+        private final ReentrantLock refillLock = new ReentrantLock();
+
+        HotProductCounter(int stripes) {
+            available = new AtomicInteger[stripes];
+            consumed = new AtomicInteger[stripes];
+            for (int i = 0; i < stripes; i++) {
+                available[i] = new AtomicInteger();
+                consumed[i] = new AtomicInteger();
+            }
+        }
+
+        boolean tryReserve(int quantity) {
+            int start = stripe();
+            for (int i = 0; i < available.length; i++) {
+                int index = (start + i) % available.length;
+                AtomicInteger stripe = available[index];
+                for (int current = stripe.get(); current >= quantity; current = stripe.get()) {
+                    if (stripe.compareAndSet(current, current - quantity)) {
+                        consumed[index].addAndGet(quantity);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void release(int quantity) {
+            int index = stripe();
+            available[index].addAndGet(quantity);
+            consumed[index].addAndGet(-quantity);
+        }
+
+        void add(int units) {
+            available[stripe()].addAndGet(units);
+        }
+
+        void consolidate() {
+            add(drainAvailable());
+        }
+
+        int drainAvailable() {
+            int total = 0;
+            for (AtomicInteger stripe : available) {
+                total += stripe.getAndSet(0);
+            }
+            return total;
+        }
+
+        int drainConsumed() {
+            int total = 0;
+            for (AtomicInteger stripe : consumed) {
+                total += stripe.getAndSet(0);
+            }
+            return total;
+        }
+
+        void restoreConsumed(int units) {
+            consumed[stripe()].addAndGet(units);
+        }
+
+        private int stripe() {
+            return (int) (Thread.currentThread().threadId() % available.length);
+        }
+    }
+}
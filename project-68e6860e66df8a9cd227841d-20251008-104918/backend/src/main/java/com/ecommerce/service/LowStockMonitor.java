@@ -0,0 +1,201 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.LowStockProduct;
+import com.ecommerce.event.LowStockEvent;
+import com.ecommerce.repository.InventoryReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Incremental low-stock monitor.
+ * Inventory writes report the resulting available quantity of the products they touched; the
+ * monitor keeps the products at or below {@code app.inventory.reorder-notification-threshold} in
+ * memory and publishes a {@link LowStockEvent} whenever a product crosses the threshold in either
+ * direction. The set is periodically reconciled with MongoDB through an indexed range query, which
+ * also seeds it on startup and picks up changes made by other nodes.
+ *
+ * Low-stock products are also kept ordered by available quantity, so pages are read without
+ * sorting. Writes that do not return the updated documents queue their products, and the queued
+ * products are read back together in one query shortly afterwards, off the request path.
+ */
+@Service
+@Slf4j
+public class LowStockMonitor {
+
+    private static final Comparator<LowStockProduct> LOWEST_FIRST = Comparator
+            .comparingInt(LowStockProduct::getAvailable)
+            .thenComparing(LowStockProduct::getProductId);
+
+    private final InventoryReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int threshold;
+    private final Map<String, LowStockProduct> lowStock = new ConcurrentHashMap<>();
+    private final NavigableSet<LowStockProduct> lowestFirst = new ConcurrentSkipListSet<>(LOWEST_FIRST);
+    private final Set<String> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    public LowStockMonitor(InventoryReservationRepository reservationRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.inventory.reorder-notification-threshold:10}") int threshold) {
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Records the available quantity of a product after an inventory change.
+     *
+     * @param productId the product ID
+     * @param available the available quantity after the change
+     */
+    public void record(String productId, int available) {
+        LowStockProduct previous;
+        updateLock.lock();
+        try {
+            previous = lowStock.get(productId);
+            if (available <= threshold) {
+                if (previous != null && previous.getAvailable() == available) {
+                    return;
+                }
+                LocalDateTime since = previous == null ? LocalDateTime.now() : previous.getSince();
+                put(new LowStockProduct(productId, available, since), previous);
+            } else if (previous != null) {
+                remove(previous);
+            } else {
+                return;
+            }
+        } finally {
+            updateLock.unlock();
+        }
+
+        if (previous == null) {
+            log.info("Product {} is low on stock, {} available", productId, available);
+            eventPublisher.publishEvent(new LowStockEvent(this, productId, available, true));
+        } else if (available > threshold) {
+            log.info("Product {} was restocked, {} available", productId, available);
+            eventPublisher.publishEvent(new LowStockEvent(this, productId, available, false));
+        }
+    }
+
+    /**
+     * Reads the available quantity of the given products in one query and records it, for
+     * inventory writes that do not return the updated documents.
+     *
+     * @param productIds the IDs of the products that changed
+     */
+    public void refresh(Collection<String> productIds) {
+        reservationRepository.findAvailable(productIds).forEach(this::record);
+    }
+
+    /**
+     * Queues products for a coalesced {@link #refresh}, for inventory writes on the request path.
+     *
+     * @param productIds the IDs of the products that changed
+     */
+    public void refreshLater(Collection<String> productIds) {
+        pendingRefresh.addAll(productIds);
+    }
+
+    /**
+     * Refreshes the queued products with one query.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.low-stock.refresh-interval-ms:1000}")
+    public void refreshPending() {
+        if (pendingRefresh.isEmpty()) {
+            return;
+        }
+        Set<String> productIds = new HashSet<>();
+        for (Iterator<String> it = pendingRefresh.iterator(); it.hasNext(); ) {
+            productIds.add(it.next());
+            it.remove();
+        }
+        try {
+            refresh(productIds);
+        } catch (RuntimeException e) {
+            pendingRefresh.addAll(productIds);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a page of low-stock products, lowest available quantity first.
+     *
+     * @param pageable pagination information; its sort is ignored
+     * @return a page of low-stock products
+     */
+    public Page<LowStockProduct> findLowStock(Pageable pageable) {
+        List<LowStockProduct> page = lowestFirst.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(page, pageable, lowStock.size());
+    }
+
+    /**
+     * Reconciles the in-memory set with MongoDB. Runs on startup and then periodically.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.low-stock.resync-interval-ms:300000}")
+    public void resync() {
+        Map<String, Integer> current = reservationRepository.findAvailableAtOrBelow(threshold);
+        current.forEach(this::record);
+
+        Set<String> restocked = new HashSet<>(lowStock.keySet());
+        restocked.removeAll(current.keySet());
+        if (!restocked.isEmpty()) {
+            Map<String, Integer> available = reservationRepository.findAvailable(restocked);
+            for (String productId : restocked) {
+                if (available.containsKey(productId)) {
+                    record(productId, available.get(productId));
+                } else {
+                    // The inventory record was removed
+                    forget(productId);
+                }
+            }
+        }
+        log.debug("Low-stock set reconciled, {} products at or below {}", lowStock.size(), threshold);
+    }
+
+    private void put(LowStockProduct current, LowStockProduct previous) {
+        if (previous != null) {
+            lowestFirst.remove(previous);
+        }
+        lowStock.put(current.getProductId(), current);
+        lowestFirst.add(current);
+    }
+
+    private void remove(LowStockProduct previous) {
+        lowStock.remove(previous.getProductId());
+        lowestFirst.remove(previous);
+    }
+
+    private void forget(String productId) {
+        updateLock.lock();
+        try {
+            LowStockProduct previous = lowStock.get(productId);
+            if (previous != null) {
+                remove(previous);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+}
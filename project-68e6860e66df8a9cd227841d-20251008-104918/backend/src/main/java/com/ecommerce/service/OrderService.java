@@ -5,16 +5,20 @@ import com.ecommerce.exception.ProductOutOfStockException;
 import com.ecommerce.exception.UserNotFoundException;
 import com.ecommerce.model.Order;
 import com.ecommerce.model.OrderItem;
+import com.ecommerce.model.OutboxEvent;
 import com.ecommerce.model.OrderStatus;
 import com.ecommerce.model.Product;
+import com.ecommerce.model.UserOrderSummary;
+import com.ecommerce.order.OrderNumberGenerator;
 import com.ecommerce.repository.OrderRepository;
 import com.ecommerce.repository.ProductRepository;
 import com.ecommerce.repository.UserRepository;
 import com.ecommerce.repository.InventoryRepository;
+import com.ecommerce.repository.OutboxEventRepository;
+import com.ecommerce.repository.UserOrderSummaryRepository;
 import com.ecommerce.dto.OrderDTO;
 import com.ecommerce.dto.OrderItemDTO;
 import com.ecommerce.dto.OrderSummaryDTO;
-import com.ecommerce.event.OrderCreatedEvent;
 import com.ecommerce.event.OrderStatusChangedEvent;
 
 import org.slf4j.Logger;
@@ -30,9 +34,12 @@ import org.springframework.util.StringUtils;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +55,12 @@ public class OrderService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final InventoryRepository inventoryRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final LowStockMonitor lowStockMonitor;
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionRunner transactionRunner;
     private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
@@ -55,17 +68,32 @@ public class OrderService {
                         UserRepository userRepository,
                         ProductRepository productRepository,
                         InventoryRepository inventoryRepository,
+                        InventoryReservationService inventoryReservationService,
+                        LowStockMonitor lowStockMonitor,
+                        UserOrderSummaryRepository userOrderSummaryRepository,
+                        OrderNumberGenerator orderNumberGenerator,
+                        OutboxEventRepository outboxEventRepository,
+                        TransactionRunner transactionRunner,
                         ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
         this.inventoryRepository = inventoryRepository;
+        this.inventoryReservationService = inventoryReservationService;
+        this.lowStockMonitor = lowStockMonitor;
+        this.userOrderSummaryRepository = userOrderSummaryRepository;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionRunner = transactionRunner;
         this.eventPublisher = eventPublisher;
     }
 
     /**
      * Creates a new order for a user with the specified items.
-     * Validates product availability, reserves inventory, and creates the order record.
+     * Loads all products in one query and reserves inventory for the whole cart in a single
+     * bulk write. The order, its summary counters and its order created outbox event are then
+     * written in one short transaction; the reservation is not part of it, so that contended stock
+     * updates do not abort the transaction, and is released again if the order cannot be created.
      *
      * @param userId the ID of the user placing the order
      * @param orderItems list of items to be ordered
@@ -73,7 +101,6 @@ public class OrderService {
      * @throws UserNotFoundException if the user doesn't exist
      * @throws ProductOutOfStockException if any product is out of stock
      */
-    @Transactional
     public Order createOrder(String userId, List<OrderItemDTO> orderItems) {
         logger.info("Creating new order for user: {}", userId);
         
@@ -81,25 +108,25 @@ public class OrderService {
         userRepository.findById(userId)
             .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
 
-        // Validate products and check inventory
+        // Fetch all products in a single round trip
+        Set<String> productIds = orderItems.stream()
+            .map(OrderItemDTO::getProductId)
+            .collect(Collectors.toSet());
+        Map<String, Product> productsById = new HashMap<>();
+        productRepository.findAllById(productIds)
+            .forEach(product -> productsById.put(product.getId(), product));
+
+        // Validate products and build order items
         List<OrderItem> validatedItems = new ArrayList<>();
+        Map<String, Integer> quantities = new LinkedHashMap<>();
         BigDecimal totalAmount = BigDecimal.ZERO;
 
         for (OrderItemDTO itemDTO : orderItems) {
-            Product product = productRepository.findById(itemDTO.getProductId())
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + itemDTO.getProductId()));
-            
-            // Check inventory availability
-            boolean isAvailable = inventoryRepository.checkAvailability(
-                product.getId(), itemDTO.getQuantity());
-            
-            if (!isAvailable) {
-                throw new ProductOutOfStockException("Product out of stock: " + product.getName());
+            Product product = productsById.get(itemDTO.getProductId());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + itemDTO.getProductId());
             }
             
-            // Reserve inventory
-            inventoryRepository.reserveInventory(product.getId(), itemDTO.getQuantity());
-            
             // Create order item
             OrderItem item = new OrderItem();
             item.setProductId(product.getId());
@@ -110,12 +137,20 @@ public class OrderService {
             item.setSubtotal(product.getPrice().multiply(BigDecimal.valueOf(itemDTO.getQuantity())));
             
             validatedItems.add(item);
+            quantities.merge(product.getId(), itemDTO.getQuantity(), Integer::sum);
             totalAmount = totalAmount.add(item.getSubtotal());
         }
+
+        String orderNumber = generateOrderNumber();
+
+        // Reserve inventory for the whole cart in one bulk write (all or nothing)
+        if (!inventoryReservationService.reserveAll(quantities, orderNumber)) {
+            throw new ProductOutOfStockException("One or more products in the order are out of stock");
+        }
         
         // Create the order
         Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());
+        order.setOrderNumber(orderNumber);
         order.setUserId(userId);
         order.setStatus(OrderStatus.PENDING);
         order.setItems(validatedItems);
@@ -124,10 +159,21 @@ public class OrderService {
         order.setCreatedAt(LocalDateTime.now());
         order.setUpdatedAt(LocalDateTime.now());
         
-        Order savedOrder = orderRepository.save(order);
-        
-        // Publish order created event
-        eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder));
+        BigDecimal orderTotal = totalAmount;
+        Order savedOrder;
+        try {
+            savedOrder = transactionRunner.execute(() -> {
+                Order saved = orderRepository.save(order);
+                userOrderSummaryRepository.recordOrderCreated(userId, OrderStatus.PENDING, orderTotal);
+                // Record the order created event in the outbox; it is published asynchronously once committed
+                outboxEventRepository.append(saved.getId(), OutboxEvent.ORDER_CREATED);
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to create order {}, releasing reserved inventory", orderNumber, e);
+            inventoryReservationService.release(quantities);
+            throw e;
+        }
         
         logger.info("Order created successfully: {}", savedOrder.getOrderNumber());
         return savedOrder;
@@ -195,6 +241,9 @@ public class OrderService {
                 for (OrderItem item : order.getItems()) {
                     inventoryRepository.releaseInventory(item.getProductId(), item.getQuantity());
                 }
+                lowStockMonitor.refreshLater(order.getItems().stream()
+                    .map(OrderItem::getProductId)
+                    .collect(Collectors.toSet()));
             } else if (newStatus == OrderStatus.COMPLETED && oldStatus != OrderStatus.SHIPPED) {
                 // Deduct from inventory if order is completed without being shipped first
                 for (OrderItem item : order.getItems()) {
@@ -211,6 +260,8 @@ public class OrderService {
             order.setUpdatedAt(LocalDateTime.now());
             
             Order updatedOrder = orderRepository.save(order);
+            userOrderSummaryRepository.recordStatusChange(
+                updatedOrder.getUserId(), oldStatus, newStatus, updatedOrder.getTotalAmount());
             
             // Publish order status changed event
             eventPublisher.publishEvent(new OrderStatusChangedEvent(updatedOrder, oldStatus, newStatus));
@@ -281,6 +332,8 @@ public class OrderService {
 
     /**
      * Retrieves order statistics for a user.
+     * Reads the incrementally maintained summary document, seeding it from a server-side
+     * aggregation over the user's orders the first time it is requested.
      *
      * @param userId the ID of the user
      * @return summary of user's order statistics
@@ -292,33 +345,17 @@ public class OrderService {
         userRepository.findById(userId)
             .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
         
-        List<Order> userOrders = orderRepository.findAllByUserId(userId);
+        UserOrderSummary userSummary = userOrderSummaryRepository.findByUserId(userId)
+            .orElseGet(() -> transactionRunner.execute(() -> userOrderSummaryRepository.seed(userId)));
         
         OrderSummaryDTO summary = new OrderSummaryDTO();
         summary.setUserId(userId);
-        summary.setTotalOrders(userOrders.size());
-        
-        // Calculate total spent on completed orders
-        BigDecimal totalSpent = userOrders.stream()
-            .filter(order -> order.getStatus() == OrderStatus.COMPLETED || order.getStatus() == OrderStatus.DELIVERED)
-            .map(Order::getTotalAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        summary.setTotalSpent(totalSpent);
-        
-        // Count orders by status
-        summary.setPendingOrders((int) userOrders.stream()
-            .filter(order -> order.getStatus() == OrderStatus.PENDING).count());
-        
-        summary.setProcessingOrders((int) userOrders.stream()
-            .filter(order -> order.getStatus() == OrderStatus.PROCESSING).count());
-        
-        summary.setCompletedOrders((int) userOrders.stream()
-            .filter(order -> order.getStatus() == OrderStatus.COMPLETED || 
-                             order.getStatus() == OrderStatus.DELIVERED).count());
-        
-        summary.setCancelledOrders((int) userOrders.stream()
-            .filter(order -> order.getStatus() == OrderStatus.CANCELLED).count());
+        summary.setTotalOrders((int) userSummary.getTotalOrders());
+        summary.setTotalSpent(userSummary.getTotalSpent());
+        summary.setPendingOrders((int) userSummary.getPendingOrders());
+        summary.setProcessingOrders((int) userSummary.getProcessingOrders());
+        summary.setCompletedOrders((int) userSummary.getCompletedOrders());
+        summary.setCancelledOrders((int) userSummary.getCancelledOrders());
         
         return summary;
     }
@@ -363,9 +400,7 @@ public class OrderService {
      * @return a unique order number
      */
     private String generateOrderNumber() {
-        // Format: ORD-YYYYMMDD-XXXX (where XXXX is a random alphanumeric string)
-        String datePart = LocalDateTime.now().format(java.time.format.DateTimeFormatter.BASIC_ISO_DATE);
-        String randomPart = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-        return "ORD-" + datePart + "-" + randomPart;
+        // Format: ORD-YYYYMMDD-XXXXXXXXXXXX (see OrderNumberGenerator)
+        return orderNumberGenerator.next();
     }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.AttributeFilterExplanation;
+import com.ecommerce.dto.AttributeFilterRequest;
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.mapper.ProductSummaryMapper;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service for filtering products by their free-form attributes.
+ * Each condition is an equality or $in match on one attribute key, which the wildcard index on
+ * {@code attributes} serves directly. For AND filters the planner scans the index for one condition
+ * and checks the others on the fetched documents; OR filters run one index scan per condition.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductAttributeFilterService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductSummaryMapper productSummaryMapper;
+
+    /**
+     * Finds a page of products matching an attribute filter, reading only the listing fields.
+     *
+     * @param filter the attribute filter
+     * @param pageable pagination information
+     * @return a page of product summaries
+     */
+    public Page<ProductSummaryDTO> filter(AttributeFilterRequest filter, Pageable pageable) {
+        log.debug("Filtering products by attributes: {}", filter);
+        Document criteria = toCriteria(filter).getCriteriaObject();
+
+        BasicQuery query = new BasicQuery(criteria, Document.parse(ProductRepository.SUMMARY_FIELDS));
+        query.with(pageable);
+        List<ProductSummaryDTO> content = productSummaryMapper.toSummaries(mongoTemplate.find(query, Product.class));
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(new BasicQuery(criteria), Product.class));
+    }
+
+    /**
+     * Explains how MongoDB would execute an attribute filter, for the whole filter and for
+     * each of its conditions.
+     *
+     * @param filter the attribute filter
+     * @return the winning plan of each query, summarized
+     */
+    public AttributeFilterExplanation explain(AttributeFilterRequest filter) {
+        List<AttributeFilterExplanation.Plan> conditions = new ArrayList<>();
+        for (AttributeFilterRequest.Condition condition : filter.getConditions()) {
+            conditions.add(explain(condition.getName(), toCriteria(condition)));
+        }
+        return new AttributeFilterExplanation(explain(null, toCriteria(filter)), conditions);
+    }
+
+    private Criteria toCriteria(AttributeFilterRequest filter) {
+        Criteria[] conditions = filter.getConditions().stream()
+                .map(this::toCriteria)
+                .toArray(Criteria[]::new);
+        if (conditions.length == 1) {
+            return conditions[0];
+        }
+        return filter.getMode() == AttributeFilterRequest.Mode.OR
+                ? new Criteria().orOperator(conditions)
+                : new Criteria().andOperator(conditions);
+    }
+
+    private Criteria toCriteria(AttributeFilterRequest.Condition condition) {
+        Criteria criteria = Criteria.where("attributes." + condition.getName());
+        return condition.getValues().size() == 1
+                ? criteria.is(condition.getValues().get(0))
+                : criteria.in(condition.getValues());
+    }
+
+    private AttributeFilterExplanation.Plan explain(String attribute, Criteria criteria) {
+        Document explanation = mongoTemplate.execute(Product.class,
+                collection -> collection.find(criteria.getCriteriaObject()).explain());
+        Document winningPlan = explanation.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        // Plans executed by the slot-based engine nest the classic plan tree under queryPlan
+        if (winningPlan.containsKey("queryPlan")) {
+            winningPlan = winningPlan.get("queryPlan", Document.class);
+        }
+
+        Set<String> indexes = new LinkedHashSet<>();
+        boolean collectionScan = collectStages(winningPlan, indexes);
+        return new AttributeFilterExplanation.Plan(attribute, !collectionScan, new ArrayList<>(indexes));
+    }
+
+    /**
+     * Walks a plan tree, collecting index names.
+     *
+     * @return true if any stage scans the collection
+     */
+    private boolean collectStages(Document stage, Set<String> indexes) {
+        boolean collectionScan = "COLLSCAN".equals(stage.getString("stage"));
+        if (stage.containsKey("indexName")) {
+            indexes.add(stage.getString("indexName"));
+        }
+        if (stage.get("inputStage") instanceof Document input) {
+            collectionScan |= collectStages(input, indexes);
+        }
+        if (stage.get("inputStages") instanceof List<?> inputs) {
+            for (Object input : inputs) {
+                if (input instanceof Document inputStage) {
+                    collectionScan |= collectStages(inputStage, indexes);
+                }
+            }
+        }
+        return collectionScan;
+    }
+}
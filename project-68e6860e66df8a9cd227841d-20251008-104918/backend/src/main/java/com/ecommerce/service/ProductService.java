@@ -1,24 +1,58 @@
 package com.ecommerce.service;
 
+import com.ecommerce.cache.ProductCache;
+import com.ecommerce.dto.BulkProductUpdateRequest;
+import com.ecommerce.dto.BulkUpdateResult;
+import com.ecommerce.dto.CursorSlice;
+import com.ecommerce.dto.ProductBrowseResult;
+import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.dto.ProductSearchCriteria;
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.event.ProductsChangedEvent;
 import com.ecommerce.exception.ProductNotFoundException;
 import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.mapper.ProductMapper;
+import com.ecommerce.mapper.ProductSummaryMapper;
 import com.ecommerce.model.Product;
 import com.ecommerce.repository.CategoryRepository;
 import com.ecommerce.repository.InventoryRepository;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.ProductFacetIndex;
+import com.ecommerce.search.ProductSearchIndex;
+import com.ecommerce.search.SearchIndexNotReadyException;
+import com.ecommerce.util.KeysetCursor;
+import com.mongodb.bulk.BulkWriteResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing product-related operations.
@@ -29,10 +63,23 @@ import java.util.Optional;
 @Slf4j
 public class ProductService {
 
+    private static final int MAX_REPORTED_NOT_FOUND = 100;
+    private static final int MAX_REPORTED_REJECTED = 100;
+
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
     private final CategoryRepository categoryRepository;
     private final InventoryRepository inventoryRepository;
     private final AuditService auditService;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MongoTemplate mongoTemplate;
+    private final ProductSummaryMapper productSummaryMapper;
+    private final ProductMapper productMapper;
+
+    @Value("${app.product.bulk-update.batch-size:1000}")
+    private int bulkUpdateBatchSize;
 
     /**
      * Retrieves all products with pagination support
@@ -46,7 +93,93 @@ public class ProductService {
     }
 
     /**
-     * Retrieves a product by its ID
+     * Retrieves a page of products as DTOs
+     *
+     * @param pageable Pagination information
+     * @return Page of products
+     */
+    public Page<ProductDTO> findAll(Pageable pageable) {
+        return getAllProducts(pageable).map(productMapper::toDto);
+    }
+
+    /**
+     * Retrieves a page of products in a category as DTOs
+     *
+     * @param category Category name
+     * @param pageable Pagination information
+     * @return Page of products in the category
+     */
+    public Page<ProductDTO> findByCategory(String category, Pageable pageable) {
+        return getProductsByCategory(category, pageable).map(productMapper::toDto);
+    }
+
+    /**
+     * Retrieves active featured products as DTOs
+     *
+     * @param limit Maximum number of products to return
+     * @return List of featured products
+     */
+    public List<ProductDTO> findFeaturedProducts(int limit) {
+        log.debug("Fetching {} featured products", limit);
+        return productMapper.toDtos(productRepository.findActiveFeatured(PageRequest.of(0, limit)));
+    }
+
+    /**
+     * Retrieves a page of product summaries for listings.
+     * Only the listed fields are read from MongoDB.
+     *
+     * @param pageable Pagination information
+     * @return Page of product summaries
+     */
+    public Page<ProductSummaryDTO> getProductSummaries(Pageable pageable) {
+        log.debug("Fetching product summaries page: {}", pageable);
+        return productRepository.findSummaries(pageable).map(productSummaryMapper::toSummary);
+    }
+
+    /**
+     * Retrieves a page of product summaries in a category.
+     * Only the listed fields are read from MongoDB.
+     *
+     * @param category Category name
+     * @param pageable Pagination information
+     * @return Page of product summaries
+     */
+    public Page<ProductSummaryDTO> getProductSummariesByCategory(String category, Pageable pageable) {
+        log.debug("Fetching product summaries for category: {}", category);
+        return productRepository.findSummariesByCategory(category, pageable).map(productSummaryMapper::toSummary);
+    }
+
+    /**
+     * Retrieves summaries of active featured products.
+     * Only the listed fields are read from MongoDB.
+     *
+     * @param limit Maximum number of products to return
+     * @return List of product summaries
+     */
+    public List<ProductSummaryDTO> getFeaturedProductSummaries(int limit) {
+        log.debug("Fetching {} featured product summaries", limit);
+        return productSummaryMapper.toSummaries(productRepository.findFeaturedSummaries(PageRequest.of(0, limit)));
+    }
+
+    /**
+     * Retrieves products with keyset pagination. Each slice continues after the previous one
+     * using an index range on the sort key and ID, and no count query is issued.
+     *
+     * @param cursor Continuation token from the previous slice, or null to start from the beginning
+     * @param size Maximum number of products in the slice
+     * @param sort Sort order, used only when starting from the beginning
+     * @return Slice of products with the token for the next slice
+     */
+    public CursorSlice<Product> scrollProducts(String cursor, int size, Sort sort) {
+        log.debug("Scrolling products, size: {}, sort: {}", size, sort);
+        KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first(sort) : KeysetCursor.decode(cursor);
+        return CursorSlice.of(
+                productRepository.findAllBy(keysetCursor.getPosition(), Limit.of(size), keysetCursor.getSort()),
+                keysetCursor);
+    }
+
+    /**
+     * Retrieves a product by its ID, served from the product cache
      *
      * @param id Product ID
      * @return Product if found
@@ -54,12 +187,12 @@ public class ProductService {
      */
     public Product getProductById(String id) {
         log.debug("Fetching product with ID: {}", id);
-        return productRepository.findById(id)
+        return productCache.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
     }
 
     /**
-     * Retrieves a product by its SKU
+     * Retrieves a product by its SKU, served from the product cache
      *
      * @param sku Product SKU
      * @return Product if found
@@ -67,7 +200,7 @@ public class ProductService {
      */
     public Product getProductBySku(String sku) {
         log.debug("Fetching product with SKU: {}", sku);
-        return productRepository.findBySku(sku)
+        return productCache.findBySku(sku)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with SKU: " + sku));
     }
 
@@ -95,6 +228,7 @@ public class ProductService {
         
         // Log audit event
         auditService.logEvent("PRODUCT_CREATED", "Product", savedProduct.getId(), null, savedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(this, savedProduct.getId(), savedProduct));
         
         return savedProduct;
     }
@@ -111,7 +245,7 @@ public class ProductService {
     public Product updateProduct(String id, Product productDetails) {
         log.debug("Updating product with ID: {}", id);
         
-        Product existingProduct = getProductById(id);
+        Product existingProduct = findProductForUpdate(id);
         
         // Store original for audit
         Product originalProduct = new Product();
@@ -164,6 +298,7 @@ public class ProductService {
         
         // Log audit event
         auditService.logEvent("PRODUCT_UPDATED", "Product", updatedProduct.getId(), originalProduct, updatedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(this, updatedProduct.getId(), updatedProduct));
         
         return updatedProduct;
     }
@@ -178,7 +313,7 @@ public class ProductService {
     public void deleteProduct(String id) {
         log.debug("Deleting product with ID: {}", id);
         
-        Product product = getProductById(id);
+        Product product = findProductForUpdate(id);
         
         // Check if product has inventory
         boolean hasInventory = inventoryRepository.existsByProductId(id);
@@ -191,12 +326,15 @@ public class ProductService {
         
         // Log audit event
         auditService.logEvent("PRODUCT_DELETED", "Product", id, product, null);
+        eventPublisher.publishEvent(new ProductChangedEvent(this, id, null));
     }
 
     /**
-     * Searches for products based on various criteria
+     * Searches for products based on various criteria.
+     * Uses the full-text search index, ranking results by relevance; falls back to the
+     * MongoDB query while the index is still being built.
      *
-     * @param query Search query for name or description
+     * @param query Search query for name, description, tags or attributes
      * @param category Category filter
      * @param minPrice Minimum price filter
      * @param maxPrice Maximum price filter
@@ -209,7 +347,49 @@ public class ProductService {
         log.debug("Searching products with query: {}, category: {}, price range: {}-{}", 
                 query, category, minPrice, maxPrice);
         
-        return productRepository.findBySearchCriteria(query, category, minPrice, maxPrice, pageable);
+        if (!productSearchIndex.isReady()) {
+            return productRepository.findBySearchCriteria(query, category, minPrice, maxPrice, pageable);
+        }
+        
+        ProductSearchIndex.SearchHits hits = productSearchIndex.search(query, category, minPrice, maxPrice,
+                (int) pageable.getOffset(), pageable.getPageSize(), false);
+        
+        return new PageImpl<>(findAllInOrder(hits.productIds()), pageable, hits.totalHits());
+    }
+
+    /**
+     * Searches for products matching the criteria through the search index.
+     *
+     * @param criteria Search criteria
+     * @param pageable Pagination information
+     * @return Page of matching products, most relevant first
+     */
+    public Page<ProductDTO> search(ProductSearchCriteria criteria, Pageable pageable) {
+        return searchProducts(criteria.getQuery(), criteria.getCategory(),
+                criteria.getMinPrice(), criteria.getMaxPrice(), pageable)
+                .map(productMapper::toDto);
+    }
+
+    /**
+     * Counts search matches per category and price bucket
+     *
+     * @param query Search query for name, description, tags or attributes
+     * @param category Category filter
+     * @param minPrice Minimum price filter
+     * @param maxPrice Maximum price filter
+     * @return Facet counts keyed by facet name and value
+     * @throws SearchIndexNotReadyException while the search index is being built
+     */
+    public Map<String, Map<String, Long>> getSearchFacets(String query, String category,
+                                                          BigDecimal minPrice, BigDecimal maxPrice) {
+        log.debug("Counting search facets for query: {}, category: {}, price range: {}-{}",
+                query, category, minPrice, maxPrice);
+        
+        if (!productSearchIndex.isReady()) {
+            throw new SearchIndexNotReadyException("Product search index is not ready yet");
+        }
+        
+        return productSearchIndex.search(query, category, minPrice, maxPrice, 0, 0, true).facets();
     }
 
     /**
@@ -229,6 +409,33 @@ public class ProductService {
         return productRepository.findByCategory(category, pageable);
     }
 
+    /**
+     * Retrieves a filtered product listing with facet counts for category, subcategory,
+     * tag, price bucket and attribute values
+     *
+     * @param filters Selected facet values keyed by facet name
+     * @param pageable Pagination information
+     * @return Page of matching products with facet counts
+     */
+    public ProductBrowseResult browseProducts(Map<String, List<String>> filters, Pageable pageable) {
+        log.debug("Browsing products with filters: {}", filters);
+        
+        if (!productFacetIndex.isReady()) {
+            throw new IllegalStateException("Product facet index is not ready yet");
+        }
+        
+        ProductFacetIndex.BrowseResult result = productFacetIndex.browse(
+                filters, (int) pageable.getOffset(), pageable.getPageSize(), true);
+        
+        return ProductBrowseResult.builder()
+                .products(findAllInOrder(result.productIds()))
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalElements(result.totalHits())
+                .facets(result.facets())
+                .build();
+    }
+
     /**
      * Updates product attributes
      *
@@ -241,7 +448,7 @@ public class ProductService {
     public Product updateProductAttributes(String id, Map<String, String> attributes) {
         log.debug("Updating attributes for product with ID: {}", id);
         
-        Product product = getProductById(id);
+        Product product = findProductForUpdate(id);
         Product originalProduct = new Product();
         copyProductFields(product, originalProduct);
         
@@ -258,6 +465,7 @@ public class ProductService {
         
         // Log audit event
         auditService.logEvent("PRODUCT_ATTRIBUTES_UPDATED", "Product", id, originalProduct, updatedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(this, id, updatedProduct));
         
         return updatedProduct;
     }
@@ -278,7 +486,7 @@ public class ProductService {
             throw new IllegalArgumentException("Price must be a non-negative value");
         }
         
-        Product product = getProductById(id);
+        Product product = findProductForUpdate(id);
         Product originalProduct = new Product();
         copyProductFields(product, originalProduct);
         
@@ -289,10 +497,56 @@ public class ProductService {
         
         // Log audit event
         auditService.logEvent("PRODUCT_PRICE_UPDATED", "Product", id, originalProduct, updatedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(this, id, updatedProduct));
         
         return updatedProduct;
     }
 
+    /**
+     * Applies price, attribute and tag changes to many products, addressed by SKU.
+     * Each change becomes a field-level $set, and changes are sent in unordered bulk writes
+     * without loading the products first. The updated products are read back once per batch
+     * to refresh caches and search indexes. Updates without a SKU, with a negative price or with an
+     * invalid attribute name are skipped and reported on the result; the other updates are still applied.
+     *
+     * @param updates the changes to apply
+     * @return counts of matched and modified products, SKUs that were not found and rejected updates
+     */
+    public BulkUpdateResult bulkUpdateProducts(List<BulkProductUpdateRequest.ProductUpdate> updates) {
+        log.debug("Bulk updating {} products", updates.size());
+
+        BulkUpdateResult result = new BulkUpdateResult();
+        result.setRequested(updates.size());
+        List<BulkProductUpdateRequest.ProductUpdate> batch = new ArrayList<>();
+        Set<String> batchSkus = new HashSet<>();
+        for (int index = 0; index < updates.size(); index++) {
+            BulkProductUpdateRequest.ProductUpdate update = updates.get(index);
+            String rejection = validateBulkUpdate(update);
+            if (rejection != null) {
+                result.setRejected(result.getRejected() + 1);
+                if (result.getRejectedUpdates().size() < MAX_REPORTED_REJECTED) {
+                    result.getRejectedUpdates().add(
+                            new BulkUpdateResult.RejectedUpdate(index, update.getSku(), rejection));
+                }
+                continue;
+            }
+            // Updates of the same SKU go to separate batches so they apply in request order
+            if (batch.size() == bulkUpdateBatchSize || !batchSkus.add(update.getSku())) {
+                applyBulkUpdate(batch, result);
+                batch.clear();
+                batchSkus.clear();
+                batchSkus.add(update.getSku());
+            }
+            batch.add(update);
+        }
+        applyBulkUpdate(batch, result);
+
+        auditService.logEvent("PRODUCTS_BULK_UPDATED", "Product", null, null, result);
+        log.info("Bulk updated products: {} requested, {} rejected, {} matched, {} modified",
+                result.getRequested(), result.getRejected(), result.getMatched(), result.getModified());
+        return result;
+    }
+
     /**
      * Retrieves products by tags
      *
@@ -315,6 +569,105 @@ public class ProductService {
         return productRepository.existsBySku(sku);
     }
 
+    /**
+     * Helper method to write one batch of bulk updates and publish the updated products
+     *
+     * @param batch Updates with distinct SKUs, already validated
+     * @param result Result to add the matched, modified and not found counts to
+     */
+    private void applyBulkUpdate(List<BulkProductUpdateRequest.ProductUpdate> batch, BulkUpdateResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        for (BulkProductUpdateRequest.ProductUpdate change : batch) {
+            Update update = new Update().set("updatedAt", now);
+            if (change.getPrice() != null) {
+                update.set("price", change.getPrice());
+            }
+            if (change.getAttributes() != null) {
+                change.getAttributes().forEach((name, value) -> update.set("attributes." + name, value));
+            }
+            if (change.getTags() != null) {
+                update.set("tags", change.getTags());
+            }
+            bulk.updateOne(Query.query(Criteria.where("sku").is(change.getSku())), update);
+        }
+        BulkWriteResult written = bulk.execute();
+        result.setMatched(result.getMatched() + written.getMatchedCount());
+        result.setModified(result.getModified() + written.getModifiedCount());
+
+        List<String> skus = batch.stream().map(BulkProductUpdateRequest.ProductUpdate::getSku).toList();
+        Query changed = Query.query(Criteria.where("sku").in(skus));
+        changed.fields().include(ProductsChangedEvent.FIELDS);
+        List<Product> products = mongoTemplate.find(changed, Product.class);
+        if (!products.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(this, products));
+        }
+        Set<String> found = products.stream().map(Product::getSku).collect(Collectors.toSet());
+        skus.stream()
+                .filter(sku -> !found.contains(sku))
+                .limit(Math.max(0, MAX_REPORTED_NOT_FOUND - result.getNotFound().size()))
+                .forEach(result.getNotFound()::add);
+    }
+
+    /**
+     * Helper method to check one bulk update
+     *
+     * @param update Update to check
+     * @return Why the update is rejected, or null if it is valid
+     */
+    private String validateBulkUpdate(BulkProductUpdateRequest.ProductUpdate update) {
+        if (!StringUtils.hasText(update.getSku())) {
+            return "SKU is required";
+        }
+        if (update.getPrice() != null && update.getPrice().signum() < 0) {
+            return "Price must be a non-negative value";
+        }
+        if (update.getAttributes() != null) {
+            for (String name : update.getAttributes().keySet()) {
+                if (!isValidAttributeName(name)) {
+                    return "Invalid attribute name: " + name;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isValidAttributeName(String name) {
+        return StringUtils.hasText(name) && !name.contains(".") && !name.startsWith("$");
+    }
+
+    /**
+     * Helper method to load a product directly from MongoDB before modifying it,
+     * so that the shared cached instance is never changed in place
+     *
+     * @param id Product ID
+     * @return Product if found
+     * @throws ProductNotFoundException if product not found
+     */
+    private Product findProductForUpdate(String id) {
+        return productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
+    }
+
+    /**
+     * Helper method to load products by ID, preserving the order of the given IDs
+     *
+     * @param ids Product IDs
+     * @return Products in the order of the IDs, skipping any that no longer exist
+     */
+    private List<Product> findAllInOrder(List<String> ids) {
+        Map<String, Product> productsById = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Helper method to copy product fields for audit purposes
      *
@@ -0,0 +1,87 @@
+package com.ecommerce.service;
+
+import com.mongodb.MongoException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs short units of work in a MongoDB transaction.
+ * A transaction aborted with a TransientTransactionError (typically a write conflict with a
+ * concurrent transaction) is retried from the start after a short randomized backoff, so the
+ * work must not have side effects outside the transaction.
+ */
+@Component
+@Slf4j
+public class TransactionRunner {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public TransactionRunner(PlatformTransactionManager transactionManager,
+                             @Value("${app.transaction.max-attempts:3}") int maxAttempts,
+                             @Value("${app.transaction.retry-backoff:20ms}") Duration retryBackoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Run the work in a transaction, retrying transient transaction errors.
+     *
+     * @param work the work to run; called again for each attempt
+     * @return the result of the work
+     */
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw e;
+                }
+                log.debug("Transient transaction error (attempt {} of {}), retrying", attempt, maxAttempts, e);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Run the work in a transaction, retrying transient transaction errors.
+     *
+     * @param work the work to run; called again for each attempt
+     */
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void backOff(int attempt, RuntimeException error) {
+        long maxMillis = retryBackoff.toMillis() << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw error;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.CacheConfig;
 import com.ecommerce.exception.ResourceNotFoundException;
 import com.ecommerce.exception.UserAlreadyExistsException;
 import com.ecommerce.model.Profile;
@@ -9,6 +10,8 @@ import com.ecommerce.repository.UserRepository;
 import com.ecommerce.security.PasswordEncoder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -34,12 +37,13 @@ public class UserService {
     private final AuditLogService auditLogService;
 
     /**
-     * Retrieves a user by their ID.
+     * Retrieves a user by their ID. Results are cached on all nodes.
      *
      * @param id The user ID
      * @return The user entity
      * @throws ResourceNotFoundException if the user is not found
      */
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", sync = true)
     public User getUserById(String id) {
         log.debug("Fetching user with id: {}", id);
         return userRepository.findById(id)
@@ -142,6 +146,7 @@ public class UserService {
      * @throws ResourceNotFoundException if the user is not found
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public User updateUser(String id, User userDetails) {
         log.info("Updating user with id: {}", id);
         
@@ -176,6 +181,7 @@ public class UserService {
      * @throws ResourceNotFoundException if the user is not found
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteUser(String id) {
         log.info("Deleting user with id: {}", id);
         
@@ -200,6 +206,7 @@ public class UserService {
      * @return The updated user
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public User updateLastLogin(String id) {
         log.debug("Updating last login for user with id: {}", id);
         
@@ -218,6 +225,7 @@ public class UserService {
      * @throws IllegalArgumentException if the current password is incorrect
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public User changePassword(String id, String currentPassword, String newPassword) {
         log.info("Changing password for user with id: {}", id);
         
@@ -312,6 +320,7 @@ public class UserService {
      * @return The updated user
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public User activateUser(String id) {
         log.info("Activating user with id: {}", id);
         
@@ -336,6 +345,7 @@ public class UserService {
      * @return The updated user
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public User deactivateUser(String id) {
         log.info("Deactivating user with id: {}", id);
         
@@ -0,0 +1,173 @@
+package com.ecommerce.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs two nodes against an in-memory stand-in for Redis: the shared caches are concurrent maps
+ * and published invalidations are delivered synchronously to every node's listener.
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    private static final String CHANNEL = "cache-invalidation";
+    private static final String CACHE = "products";
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final Map<String, Cache> sharedCaches = new ConcurrentHashMap<>();
+    private final List<TwoLevelCacheManager> nodes = new ArrayList<>();
+    private final AtomicInteger published = new AtomicInteger();
+
+    private Cache first;
+    private Cache second;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisCacheManager.getCache(anyString()))
+                .thenAnswer(invocation -> sharedCaches.computeIfAbsent(invocation.getArgument(0), ConcurrentMapCache::new));
+        lenient().doAnswer(invocation -> {
+            published.incrementAndGet();
+            byte[] body = invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8);
+            nodes.forEach(node -> node.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(CHANNEL), any());
+
+        first = node().getCache(CACHE);
+        second = node().getCache(CACHE);
+    }
+
+    @Test
+    void readsFallBackToTheSharedCacheAndFillTheNearCache() {
+        first.put("1", "v1");
+
+        assertThat(second.get("1", String.class)).isEqualTo("v1");
+
+        // Served from the near-cache once loaded, even if the shared entry is gone
+        sharedCaches.get(CACHE).clear();
+        assertThat(second.get("1", String.class)).isEqualTo("v1");
+    }
+
+    @Test
+    void putOnOneNodeDropsTheStaleNearCacheCopyOnTheOthers() {
+        first.put("1", "v1");
+        assertThat(second.get("1", String.class)).isEqualTo("v1");
+
+        first.put("1", "v2");
+
+        assertThat(second.get("1", String.class)).isEqualTo("v2");
+    }
+
+    @Test
+    void evictOnOneNodeRemovesTheEntryEverywhere() {
+        first.put("1", "v1");
+        assertThat(second.get("1", String.class)).isEqualTo("v1");
+
+        first.evict("1");
+
+        assertThat(second.get("1")).isNull();
+        assertThat(first.get("1")).isNull();
+    }
+
+    @Test
+    void clearOnOneNodeClearsEveryNearCacheWithOneMessage() {
+        first.put("1", "v1");
+        first.put("2", "v2");
+        second.get("1");
+        second.get("2");
+        published.set(0);
+
+        first.clear();
+
+        assertThat(published).hasValue(1);
+        assertThat(second.get("1")).isNull();
+        assertThat(second.get("2")).isNull();
+    }
+
+    @Test
+    void nodesIgnoreTheirOwnInvalidations() {
+        first.put("1", "v1");
+        sharedCaches.get(CACHE).clear();
+
+        // The near-cache entry written with the put survives the node's own broadcast
+        assertThat(first.get("1", String.class)).isEqualTo("v1");
+    }
+
+    @Test
+    void loadedValuesArePublishedWithoutBroadcasting() {
+        assertThat(first.get("1", () -> "loaded")).isEqualTo("loaded");
+        assertThat(first.putIfAbsent("2", "v2")).isNull();
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+        assertThat(second.get("1", String.class)).isEqualTo("loaded");
+        assertThat(second.get("2", String.class)).isEqualTo("v2");
+    }
+
+    @Test
+    void refreshKeepsTheOtherNodesNearCacheCopies() {
+        first.put("1", "v1");
+        assertThat(second.get("1", String.class)).isEqualTo("v1");
+        published.set(0);
+
+        ((TwoLevelCache) first).refresh("1", "v1");
+        ((TwoLevelCache) second).refresh("1", "v1");
+
+        assertThat(published).hasValue(0);
+        sharedCaches.get(CACHE).clear();
+        assertThat(first.get("1", String.class)).isEqualTo("v1");
+        assertThat(second.get("1", String.class)).isEqualTo("v1");
+    }
+
+    @Test
+    void sharedCacheFailuresDegradeToTheNearCache() {
+        Cache failing = mock(Cache.class);
+        doThrow(new IllegalStateException("Redis unavailable")).when(failing).put(any(), any());
+        doThrow(new IllegalStateException("Redis unavailable")).when(failing).get(any());
+        sharedCaches.put("failing", failing);
+        Cache cache = nodes.get(0).getCache("failing");
+
+        cache.put("1", "v1");
+
+        assertThat(cache.get("1", String.class)).isEqualTo("v1");
+        assertThat(cache.get("2", () -> "loaded")).isEqualTo("loaded");
+    }
+
+    private TwoLevelCacheManager node() {
+        TwoLevelCacheManager node = new TwoLevelCacheManager(redisCacheManager, redisTemplate,
+                new SimpleMeterRegistry(), CHANNEL, 1_000, Duration.ofMinutes(5), Map.of());
+        nodes.add(node);
+        return node;
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.order;
+
+import com.ecommerce.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SnowflakeOrderNumberGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Mock
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        assertUniqueAndIncreasingPerThread(new SnowflakeOrderNumberGenerator(Clock.systemUTC(), 7));
+    }
+
+    @Test
+    void idsAreUniqueWhenTheSequenceOverflowsWithinOneMillisecond() throws Exception {
+        // A frozen clock forces every ID into the same millisecond, so the generator must borrow ahead
+        Clock frozen = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+        assertUniqueAndIncreasingPerThread(new SnowflakeOrderNumberGenerator(frozen, 7));
+    }
+
+    @Test
+    void idsOfDifferentNodesNeverCollide() {
+        Clock frozen = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+        SnowflakeOrderNumberGenerator first = new SnowflakeOrderNumberGenerator(frozen, 1);
+        SnowflakeOrderNumberGenerator second = new SnowflakeOrderNumberGenerator(frozen, 2);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(ids.add(first.nextId())).isTrue();
+            assertThat(ids.add(second.nextId())).isTrue();
+        }
+    }
+
+    @Test
+    void orderNumberEncodesTheDate() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+        assertThat(new SnowflakeOrderNumberGenerator(clock, 3).next()).startsWith("ORD-20250601-");
+    }
+
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeOrderNumberGenerator(Clock.systemUTC(), 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void leasesAFreeNodeIdWhenNoneIsConfigured() {
+        when(leaseRepository.tryAcquire(anyString(), anyString(), any())).thenReturn(false);
+        when(leaseRepository.tryAcquire(eq(SnowflakeOrderNumberGenerator.NODE_LEASE_PREFIX + 42), anyString(), any()))
+                .thenReturn(true);
+
+        SnowflakeOrderNumberGenerator generator =
+                new SnowflakeOrderNumberGenerator(-1, leaseRepository, Duration.ofMinutes(1));
+
+        long nodeId = (generator.nextId() >>> SnowflakeOrderNumberGenerator.SEQUENCE_BITS)
+                & SnowflakeOrderNumberGenerator.MAX_NODE_ID;
+        assertThat(nodeId).isEqualTo(42);
+    }
+
+    @Test
+    void failsStartupWhenEveryNodeIdIsLeased() {
+        when(leaseRepository.tryAcquire(anyString(), anyString(), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> new SnowflakeOrderNumberGenerator(-1, leaseRepository, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void assertUniqueAndIncreasingPerThread(SnowflakeOrderNumberGenerator generator) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                Callable<long[]> task = () -> {
+                    start.await();
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+
+            Set<Long> all = new HashSet<>(THREADS * IDS_PER_THREAD * 2);
+            for (Future<long[]> result : results) {
+                long[] ids = result.get();
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0) {
+                        assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    }
+                    assertThat(all.add(ids[i])).as("duplicate ID %d", ids[i]).isTrue();
+                }
+            }
+            assertThat(all).hasSize(THREADS * IDS_PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
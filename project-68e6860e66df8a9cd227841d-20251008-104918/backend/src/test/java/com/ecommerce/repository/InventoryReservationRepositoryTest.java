@@ -0,0 +1,114 @@
+package com.ecommerce.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReservationRepositoryTest {
+
+    private static final String RESERVATION_ID = "ORD-1";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations reserve;
+
+    @Mock
+    private BulkOperations revert;
+
+    @Test
+    void reserveAllReservesEveryProductWithOneConditionalBulkWrite() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InventoryReservationRepository.COLLECTION))
+                .thenReturn(reserve);
+        BulkWriteResult result = matched(2);
+        when(reserve.execute()).thenReturn(result);
+
+        boolean reserved = new InventoryReservationRepository(mongoTemplate).reserveAll(cart(), RESERVATION_ID);
+
+        assertThat(reserved).isTrue();
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(reserve, times(2)).updateOne(queries.capture(), updates.capture());
+        Document first = queries.getAllValues().get(0).getQueryObject();
+        assertThat(first.getString(InventoryReservationRepository.PRODUCT_ID)).isEqualTo("product-1");
+        assertThat(first.get(InventoryReservationRepository.AVAILABLE, Document.class).get("$gte")).isEqualTo(2);
+        assertThat(updates.getAllValues().get(0).getUpdateObject().get("$addToSet", Document.class)
+                .get(InventoryReservationRepository.PENDING_RESERVATIONS)).isEqualTo(RESERVATION_ID);
+
+        // The reservation tag is cleared and nothing is rolled back
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(InventoryReservationRepository.COLLECTION));
+        verify(mongoTemplate, times(1)).bulkOps(any(BulkOperations.BulkMode.class), anyString());
+    }
+
+    @Test
+    void reserveAllRollsBackOnlyTheProductsTaggedWithTheReservation() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InventoryReservationRepository.COLLECTION))
+                .thenReturn(reserve, revert);
+        BulkWriteResult result = matched(1);
+        when(reserve.execute()).thenReturn(result);
+
+        boolean reserved = new InventoryReservationRepository(mongoTemplate).reserveAll(cart(), RESERVATION_ID);
+
+        assertThat(reserved).isFalse();
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(revert, times(2)).updateOne(queries.capture(), updates.capture());
+        verify(revert).execute();
+
+        List<Document> rollbackQueries = queries.getAllValues().stream().map(Query::getQueryObject).toList();
+        assertThat(rollbackQueries).allSatisfy(query -> assertThat(
+                query.get(InventoryReservationRepository.PENDING_RESERVATIONS)).isEqualTo(RESERVATION_ID));
+        Document firstRevert = updates.getAllValues().get(0).getUpdateObject();
+        assertThat(firstRevert.get("$inc", Document.class).get(InventoryReservationRepository.AVAILABLE)).isEqualTo(2);
+        assertThat(firstRevert.get("$inc", Document.class).get(InventoryReservationRepository.RESERVED)).isEqualTo(-2);
+        assertThat(firstRevert.get("$pull", Document.class).get(InventoryReservationRepository.PENDING_RESERVATIONS))
+                .isEqualTo(RESERVATION_ID);
+
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), anyString());
+    }
+
+    @Test
+    void reserveAllOfAnEmptyCartWritesNothing() {
+        boolean reserved = new InventoryReservationRepository(mongoTemplate).reserveAll(Map.of(), RESERVATION_ID);
+
+        assertThat(reserved).isTrue();
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), anyString());
+    }
+
+    private static Map<String, Integer> cart() {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("product-1", 2);
+        quantities.put("product-2", 1);
+        return quantities;
+    }
+
+    private static BulkWriteResult matched(int count) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getMatchedCount()).thenReturn(count);
+        return result;
+    }
+}
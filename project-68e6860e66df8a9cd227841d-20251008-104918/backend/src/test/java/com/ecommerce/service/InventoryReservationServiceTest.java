@@ -0,0 +1,159 @@
+package com.ecommerce.service;
+
+import com.ecommerce.repository.InventoryReservationRepository;
+import com.ecommerce.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReservationServiceTest {
+
+    private static final String HOT = "hot-product";
+    private static final int BLOCK_SIZE = 10;
+
+    @Mock
+    private InventoryReservationRepository reservationRepository;
+
+    @Mock
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+
+    private InventoryReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InventoryReservationService(reservationRepository, leaseRepository, lowStockMonitor,
+                List.of(HOT), BLOCK_SIZE, 4, Duration.ofSeconds(30));
+        lenient().when(leaseRepository.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        // Carts of hot products only leave nothing for the bulk write, which then trivially succeeds
+        lenient().when(reservationRepository.reserveAll(eq(Map.of()), anyString())).thenReturn(true);
+    }
+
+    @Test
+    void singleProductIsReservedWithOneFindAndModify() {
+        when(reservationRepository.reserve("product-1", 2)).thenReturn(OptionalInt.of(8));
+
+        assertThat(service.reserveAll(Map.of("product-1", 2), "ORD-1")).isTrue();
+
+        verify(lowStockMonitor).record("product-1", 8);
+        verify(reservationRepository, never()).reserveAll(anyMap(), anyString());
+    }
+
+    @Test
+    void cartIsReservedWithOneBulkWrite() {
+        Map<String, Integer> cart = cart("product-1", 2, "product-2", 1);
+        when(reservationRepository.reserveAll(cart, "ORD-1")).thenReturn(true);
+
+        assertThat(service.reserveAll(cart, "ORD-1")).isTrue();
+
+        verify(lowStockMonitor).refreshLater(cart.keySet());
+    }
+
+    @Test
+    void hotProductIsServedFromItsAllocatedBlock() {
+        when(reservationRepository.allocate(eq(HOT), eq(BLOCK_SIZE), anyString())).thenReturn(OptionalInt.of(90));
+
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            assertThat(service.reserveAll(Map.of(HOT, 1), "ORD-" + i)).isTrue();
+        }
+
+        verify(reservationRepository, times(1)).allocate(eq(HOT), anyInt(), anyString());
+        verify(lowStockMonitor).record(HOT, 90);
+    }
+
+    @Test
+    void failedBulkReservationReleasesTheLocallyReservedHotUnits() {
+        when(reservationRepository.allocate(eq(HOT), eq(BLOCK_SIZE), anyString())).thenReturn(OptionalInt.of(90));
+        Map<String, Integer> cart = cart(HOT, BLOCK_SIZE, "product-1", 1, "product-2", 1);
+        when(reservationRepository.reserveAll(cart("product-1", 1, "product-2", 1), "ORD-1")).thenReturn(false);
+
+        assertThat(service.reserveAll(cart, "ORD-1")).isFalse();
+
+        // The whole block is available again, so no second allocation is needed
+        assertThat(service.reserveAll(Map.of(HOT, BLOCK_SIZE), "ORD-2")).isTrue();
+        verify(reservationRepository, times(1)).allocate(eq(HOT), anyInt(), anyString());
+        verify(lowStockMonitor, never()).refreshLater(any());
+    }
+
+    @Test
+    void failedSingleReservationReleasesTheLocallyReservedHotUnits() {
+        when(reservationRepository.allocate(eq(HOT), eq(BLOCK_SIZE), anyString())).thenReturn(OptionalInt.of(90));
+        when(reservationRepository.reserve("product-1", 1)).thenReturn(OptionalInt.empty());
+
+        assertThat(service.reserveAll(cart(HOT, BLOCK_SIZE, "product-1", 1), "ORD-1")).isFalse();
+
+        assertThat(service.reserveAll(Map.of(HOT, BLOCK_SIZE), "ORD-2")).isTrue();
+        verify(reservationRepository, times(1)).allocate(eq(HOT), anyInt(), anyString());
+    }
+
+    @Test
+    void hotProductWithoutEnoughStockFailsBeforeTouchingOtherProducts() {
+        when(reservationRepository.allocate(eq(HOT), anyInt(), anyString())).thenReturn(OptionalInt.empty());
+
+        assertThat(service.reserveAll(cart(HOT, 2, "product-1", 1), "ORD-1")).isFalse();
+
+        // A full block and then just the requested quantity were tried
+        verify(reservationRepository).allocate(eq(HOT), eq(BLOCK_SIZE), anyString());
+        verify(reservationRepository).allocate(eq(HOT), eq(2), anyString());
+        verify(reservationRepository, never()).reserve(anyString(), anyInt());
+        verify(reservationRepository, never()).reserveAll(anyMap(), anyString());
+    }
+
+    @Test
+    void releaseReturnsHotUnitsLocallyAndOtherProductsInOneBulkWrite() {
+        when(reservationRepository.allocate(eq(HOT), eq(BLOCK_SIZE), anyString())).thenReturn(OptionalInt.of(90));
+        Map<String, Integer> cart = cart(HOT, BLOCK_SIZE, "product-1", 1, "product-2", 1);
+        when(reservationRepository.reserveAll(cart("product-1", 1, "product-2", 1), "ORD-1")).thenReturn(true);
+        assertThat(service.reserveAll(cart, "ORD-1")).isTrue();
+
+        service.release(cart);
+
+        verify(reservationRepository).releaseAll(cart("product-1", 1, "product-2", 1));
+        assertThat(service.reserveAll(Map.of(HOT, BLOCK_SIZE), "ORD-2")).isTrue();
+        verify(reservationRepository, times(1)).allocate(eq(HOT), anyInt(), anyString());
+    }
+
+    @Test
+    void flushCommitsUnitsReservedSinceTheLastFlush() {
+        when(reservationRepository.allocate(eq(HOT), eq(BLOCK_SIZE), anyString())).thenReturn(OptionalInt.of(90));
+        service.reserveAll(Map.of(HOT, 3), "ORD-1");
+        service.reserveAll(Map.of(HOT, 2), "ORD-2");
+
+        service.flush();
+        service.flush();
+
+        verify(reservationRepository).commitAllocations(eq(Map.of(HOT, 5)), anyString());
+        verify(reservationRepository).commitAllocations(eq(Map.of()), anyString());
+    }
+
+    private static Map<String, Integer> cart(Object... productsAndQuantities) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (int i = 0; i < productsAndQuantities.length; i += 2) {
+            quantities.put((String) productsAndQuantities[i], (Integer) productsAndQuantities[i + 1]);
+        }
+        return quantities;
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.modernization.security.BoundedPasswordEncoder;
 import com.modernization.security.JwtAuthenticationEntryPoint;
 import com.modernization.security.JwtAuthenticationFilter;
 
@@ -100,11 +101,11 @@ public class SecurityConfig {
     /**
      * Creates a password encoder bean for secure password hashing.
      *
-     * @return BCryptPasswordEncoder instance
+     * @return BCryptPasswordEncoder running on a bounded hashing pool
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     /**
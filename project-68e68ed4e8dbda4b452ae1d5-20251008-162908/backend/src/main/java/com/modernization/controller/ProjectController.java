@@ -1,5 +1,6 @@
 package com.modernization.controller;
 
+import com.modernization.dto.CursorSlice;
 import com.modernization.dto.ProjectDTO;
 import com.modernization.dto.TaskDTO;
 import com.modernization.model.Project;
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,6 +30,8 @@ import java.util.List;
 @Slf4j
 public class ProjectController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final ProjectService projectService;
     private final TaskService taskService;
 
@@ -92,6 +96,28 @@ public class ProjectController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Projects retrieved successfully", page));
     }
 
+    /**
+     * Retrieves projects with keyset pagination, without computing a total count.
+     *
+     * @param cursor the continuation token from the previous slice, if any
+     * @param size the slice size
+     * @param sortBy the field to sort by, ignored when a cursor is given
+     * @param sortDir the sort direction, ignored when a cursor is given
+     * @return a slice of projects with the token for the next slice
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER', 'USER')")
+    public ResponseEntity<ApiResponse<CursorSlice<Project>>> scrollProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        log.info("REST request to scroll Projects, cursor: {}", cursor);
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+        CursorSlice<Project> slice = projectService.scrollProjects(cursor, Math.min(size, MAX_SCROLL_SIZE), sort);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Projects retrieved successfully", slice));
+    }
+
     /**
      * Deletes a project by its ID.
      *
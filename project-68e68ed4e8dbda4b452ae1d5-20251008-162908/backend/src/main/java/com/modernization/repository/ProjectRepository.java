@@ -1,8 +1,12 @@
 package com.modernization.repository;
 
 import com.modernization.model.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -155,4 +159,14 @@ public interface ProjectRepository extends MongoRepository<Project, String> {
      * @return list of projects with budget greater than the specified amount
      */
     List<Project> findByBudgetGreaterThan(double budget);
+
+    /**
+     * Find a window of projects with keyset scrolling, without counting the collection.
+     *
+     * @param position the position to continue after
+     * @param limit the maximum number of projects to return
+     * @param sort the sort order, ending with a unique property
+     * @return a window of projects
+     */
+    Window<Project> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
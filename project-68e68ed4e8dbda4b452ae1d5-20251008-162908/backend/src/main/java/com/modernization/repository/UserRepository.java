@@ -1,8 +1,12 @@
 package com.modernization.repository;
 
 import com.modernization.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -116,4 +120,14 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query(value = "{ 'lastLogin': { $lt: ?0 }, 'active': true }", 
            fields = "{ 'active': false }")
     int deactivateInactiveUsersSince(LocalDateTime date);
-}
\ No newline at end of file
+
+    /**
+     * Find a window of users with keyset scrolling, without counting the collection.
+     *
+     * @param position the position to continue after
+     * @param limit the maximum number of users to return
+     * @param sort the sort order, ending with a unique property
+     * @return a window of users
+     */
+    Window<User> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+}
@@ -0,0 +1,65 @@
+package com.modernization.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of the user details loaded for authenticated requests.
+ * {@link com.modernization.service.UserService} evicts a user when their status, password,
+ * roles or account change; the TTL bounds staleness for changes made outside the service,
+ * such as bulk deactivation. Only the token-based request path should read through this cache;
+ * password logins keep loading the user directly.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(UserDetailsService userDetailsService,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.security.user-details-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${app.security.user-details-cache.ttl:30s}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.user.details");
+        Gauge.builder("security.user.details.hit.ratio", cache, c -> c.stats().hitRatio())
+                .description("Share of user details lookups served from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads a user's details, from the cache if present.
+     *
+     * @param username the username
+     * @return the user details
+     * @throws UsernameNotFoundException if the user does not exist; misses are not cached
+     */
+    public UserDetails loadUserByUsername(String username) {
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Evicts a user so that the next request reloads their details.
+     *
+     * @param username the username
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+}
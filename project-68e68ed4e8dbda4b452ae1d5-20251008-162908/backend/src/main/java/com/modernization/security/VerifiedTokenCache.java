@@ -0,0 +1,110 @@
+package com.modernization.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cache of JWTs whose signature and claims have already been verified.
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are never held in memory,
+ * and expire when the token does (or after {@code app.security.token-cache.max-ttl}, whichever
+ * comes first). Tokens that fail verification are never cached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * The claims of a verified token that the authentication filter needs.
+     *
+     * @param username the subject of the token
+     * @param authorities the authorities granted by the token
+     * @param expiresAt when the token expires
+     */
+    public record VerifiedToken(String username, List<String> authorities, Instant expiresAt) {
+    }
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${app.security.token-cache.maximum-size:100000}") long maximumSize,
+                              @Value("${app.security.token-cache.max-ttl:15m}") Duration maxTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        Duration untilExpiry = Duration.between(Instant.now(), token.expiresAt());
+                        return Math.max(0, Math.min(untilExpiry.toNanos(), maxTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.tokens");
+        Gauge.builder("security.tokens.hit.ratio", cache, c -> c.stats().hitRatio())
+                .description("Share of token verifications served from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the verified claims of a token, verifying it only if it is not cached.
+     *
+     * @param token the raw JWT
+     * @param verifier parses and verifies the token; throws if the token is invalid
+     * @return the verified claims
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        String key = hash(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null && verified.expiresAt().isAfter(Instant.now())) {
+            return verified;
+        }
+
+        // Verified outside the cache so that invalid tokens throw without leaving an entry behind
+        verified = verifier.apply(token);
+        cache.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Drops every cached token, e.g. after the signing key is rotated.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -7,17 +7,21 @@ import com.modernization.model.User;
 import com.modernization.repository.ProjectRepository;
 import com.modernization.repository.TaskRepository;
 import com.modernization.repository.UserRepository;
+import com.modernization.dto.CursorSlice;
 import com.modernization.dto.ProjectDTO;
 import com.modernization.dto.TeamMemberDTO;
 import com.modernization.event.ProjectCreatedEvent;
 import com.modernization.event.ProjectUpdatedEvent;
+import com.modernization.util.KeysetCursor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -67,6 +71,23 @@ public class ProjectService {
         return projectRepository.findAll(pageable);
     }
     
+    /**
+     * Retrieves projects with keyset pagination. Each slice resumes after the last project of the
+     * previous one and no count query is issued.
+     *
+     * @param cursor Continuation token from the previous slice, or null to start from the beginning
+     * @param size Maximum number of projects in the slice
+     * @param sort Sort order, used only when starting from the beginning
+     * @return Slice of projects with the token for the next slice
+     */
+    public CursorSlice<Project> scrollProjects(String cursor, int size, Sort sort) {
+        logger.debug("Scrolling projects, size: {}, sort: {}", size, sort);
+        KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first(sort) : KeysetCursor.decode(cursor);
+        return CursorSlice.of(
+                projectRepository.findAllBy(keysetCursor.getPosition(), Limit.of(size), keysetCursor.getSort()),
+                keysetCursor);
+    }
+    
     /**
      * Retrieves projects owned by a specific user.
      *
@@ -6,19 +6,24 @@ import com.modernization.model.User;
 import com.modernization.model.Profile;
 import com.modernization.repository.UserRepository;
 import com.modernization.repository.ProfileRepository;
+import com.modernization.dto.CursorSlice;
 import com.modernization.dto.UserDTO;
 import com.modernization.dto.UserRegistrationDTO;
 import com.modernization.dto.UserUpdateDTO;
 import com.modernization.security.PasswordEncoder;
+import com.modernization.security.UserDetailsCache;
 import com.modernization.event.UserCreatedEvent;
 import com.modernization.event.UserUpdatedEvent;
+import com.modernization.util.KeysetCursor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,16 +46,19 @@ public class UserService {
     private final ProfileRepository profileRepository;
     private final PasswordEncoder passwordEncoder;
     private final ApplicationEventPublisher eventPublisher;
+    private final UserDetailsCache userDetailsCache;
     
     @Autowired
     public UserService(UserRepository userRepository, 
                        ProfileRepository profileRepository,
                        PasswordEncoder passwordEncoder,
-                       ApplicationEventPublisher eventPublisher) {
+                       ApplicationEventPublisher eventPublisher,
+                       UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.profileRepository = profileRepository;
         this.passwordEncoder = passwordEncoder;
         this.eventPublisher = eventPublisher;
+        this.userDetailsCache = userDetailsCache;
     }
     
     /**
@@ -168,6 +176,23 @@ public class UserService {
                 .map(this::convertToDTO);
     }
     
+    /**
+     * Retrieves users with keyset pagination, without counting the collection.
+     * 
+     * @param cursor the continuation token from the previous slice, or null to start from the beginning
+     * @param size the maximum number of users in the slice
+     * @param sort the sort order, used only when starting from the beginning
+     * @return a slice of user DTOs with the token for the next slice
+     */
+    public CursorSlice<UserDTO> scrollUsers(String cursor, int size, Sort sort) {
+        logger.debug("Scrolling users, size: {}, sort: {}", size, sort);
+        KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first(sort) : KeysetCursor.decode(cursor);
+        return CursorSlice.of(
+                        userRepository.findAllBy(keysetCursor.getPosition(), Limit.of(size), keysetCursor.getSort()),
+                        keysetCursor)
+                .map(this::convertToDTO);
+    }
+    
     /**
      * Updates an existing user.
      * 
@@ -219,6 +244,9 @@ public class UserService {
         User updatedUser = userRepository.save(user);
         logger.info("User updated successfully with ID: {}", updatedUser.getId());
         
+        // Roles, active status and password are checked on every request; drop the cached details
+        userDetailsCache.invalidate(updatedUser.getUsername());
+        
         // Publish user updated event
         eventPublisher.publishEvent(new UserUpdatedEvent(updatedUser));
         
@@ -234,16 +262,18 @@ public class UserService {
     @Transactional
     public void deleteUser(String id) {
         logger.info("Deleting user with ID: {}", id);
-        if (!userRepository.existsById(id)) {
-            logger.warn("User not found with ID: {}", id);
-            throw new ResourceNotFoundException("User not found with ID: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.warn("User not found with ID: {}", id);
+                    return new ResourceNotFoundException("User not found with ID: " + id);
+                });
         
         // Delete associated profile
         profileRepository.deleteByUserId(id);
         
         // Delete user
         userRepository.deleteById(id);
+        userDetailsCache.invalidate(user.getUsername());
         logger.info("User deleted successfully with ID: {}", id);
     }
     
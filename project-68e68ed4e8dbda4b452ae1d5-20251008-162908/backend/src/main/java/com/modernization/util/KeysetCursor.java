@@ -0,0 +1,98 @@
+package com.modernization.util;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque continuation token for keyset (seek) pagination.
+ * A token carries the sort order and the sort keys of the last element returned, so the next
+ * slice resumes with a range query on (sort key, _id) instead of skipping documents.
+ */
+public final class KeysetCursor {
+
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private final Sort sort;
+    private final KeysetScrollPosition position;
+
+    private KeysetCursor(Sort sort, KeysetScrollPosition position) {
+        this.sort = sort;
+        this.position = position;
+    }
+
+    /**
+     * Starts scrolling from the first element. The ID is appended to the sort as a tie-breaker
+     * so that the keyset is unique.
+     *
+     * @param sort the requested sort order
+     * @return a cursor positioned before the first element
+     */
+    public static KeysetCursor first(Sort sort) {
+        Sort keysetSort = sort;
+        if (sort.getOrderFor("id") == null) {
+            Sort.Direction direction = sort.isSorted()
+                    ? sort.toList().get(sort.toList().size() - 1).getDirection()
+                    : Sort.Direction.ASC;
+            keysetSort = sort.and(Sort.by(direction, "id"));
+        }
+        return new KeysetCursor(keysetSort, ScrollPosition.keyset());
+    }
+
+    /**
+     * Decodes a token previously returned as the next cursor of a slice.
+     *
+     * @param token the opaque token
+     * @return the cursor positioned after the last element of the previous slice
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            Document document = Document.parse(
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+            List<Sort.Order> orders = new ArrayList<>();
+            document.get("sort", Document.class).forEach((property, direction) ->
+                    orders.add(new Sort.Order(Sort.Direction.fromString((String) direction), property)));
+            return new KeysetCursor(Sort.by(orders), ScrollPosition.forward(document.get("keys", Document.class)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor", e);
+        }
+    }
+
+    /**
+     * Encodes the position after the last element of a window.
+     *
+     * @param window the window that was just read with this cursor
+     * @return the token for the next slice, or null if there are no more elements
+     */
+    public String next(Window<?> window) {
+        if (window.isEmpty() || !window.hasNext()) {
+            return null;
+        }
+        KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        Document sortDocument = new Document();
+        sort.forEach(order -> sortDocument.append(order.getProperty(), order.getDirection().name()));
+        Document document = new Document("sort", sortDocument).append("keys", new Document(last.getKeys()));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(document.toJson(JSON_SETTINGS).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public ScrollPosition getPosition() {
+        return position;
+    }
+}
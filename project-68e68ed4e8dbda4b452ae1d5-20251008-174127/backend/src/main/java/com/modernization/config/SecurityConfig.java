@@ -1,5 +1,6 @@
 package com.modernization.config;
 
+import com.modernization.security.BoundedPasswordEncoder;
 import com.modernization.security.CustomUserDetailsService;
 import com.modernization.security.JwtAuthenticationEntryPoint;
 import com.modernization.security.JwtAuthenticationFilter;
@@ -53,7 +54,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     @Bean
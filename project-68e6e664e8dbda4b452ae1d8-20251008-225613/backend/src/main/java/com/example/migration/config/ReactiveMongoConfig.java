@@ -0,0 +1,72 @@
+package com.example.migration.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactive MongoDB configuration for the non-blocking content read path.
+ * The reactive client has its own connection pool next to the blocking client of
+ * {@link MongoConfig}; writes keep using the blocking client. Reactive repositories live in
+ * their own package so that each configuration only picks up its own kind of repository.
+ */
+@Configuration
+@EnableReactiveMongoRepositories(
+        basePackages = "com.example.migration.repository.reactive",
+        reactiveMongoTemplateRef = "reactiveMongoTemplate")
+public class ReactiveMongoConfig {
+
+    @Value("${spring.data.mongodb.uri}")
+    private String mongoUri;
+
+    @Value("${spring.data.mongodb.database}")
+    private String databaseName;
+
+    @Value("${spring.data.mongodb.connection-timeout:10000}")
+    private int connectionTimeout;
+
+    @Value("${spring.data.mongodb.max-connection-idle-time:60000}")
+    private int maxConnectionIdleTime;
+
+    @Value("${spring.data.mongodb.reactive.max-connection-pool-size:100}")
+    private int maxConnectionPoolSize;
+
+    /**
+     * Creates the reactive MongoDB client.
+     *
+     * @return the reactive client
+     */
+    @Bean(destroyMethod = "close")
+    public MongoClient reactiveMongoClient() {
+        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongoUri))
+                .applyToConnectionPoolSettings(builder ->
+                    builder.maxConnectionIdleTime(maxConnectionIdleTime, TimeUnit.MILLISECONDS)
+                           .maxSize(maxConnectionPoolSize))
+                .applyToSocketSettings(builder ->
+                    builder.connectTimeout(connectionTimeout, TimeUnit.MILLISECONDS))
+                .build();
+
+        return MongoClients.create(mongoClientSettings);
+    }
+
+    /**
+     * Creates the ReactiveMongoTemplate used by the reactive repositories.
+     *
+     * @param reactiveMongoClient the reactive client
+     * @return configured ReactiveMongoTemplate
+     */
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient reactiveMongoClient) {
+        return new ReactiveMongoTemplate(new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, databaseName));
+    }
+}
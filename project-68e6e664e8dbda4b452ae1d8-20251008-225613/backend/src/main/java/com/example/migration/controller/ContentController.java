@@ -2,10 +2,12 @@ package com.example.migration.controller;
 
 import com.example.migration.dto.ContentDTO;
 import com.example.migration.dto.ContentSummaryDTO;
+import com.example.migration.dto.CursorSlice;
 import com.example.migration.dto.request.ContentCreateRequest;
 import com.example.migration.dto.request.ContentUpdateRequest;
 import com.example.migration.dto.response.ApiResponse;
 import com.example.migration.dto.response.PagedResponse;
+import com.example.migration.model.Content;
 import com.example.migration.service.ContentService;
 import com.example.migration.util.Constants;
 import jakarta.validation.Valid;
@@ -25,6 +27,8 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class ContentController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final ContentService contentService;
 
     /**
@@ -107,6 +111,33 @@ public class ContentController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Content retrieved successfully", contentList));
     }
 
+    /**
+     * Get content with keyset pagination. Pass the returned nextCursor to fetch the next slice;
+     * no total count is computed, so deep slices stay as cheap as the first one.
+     *
+     * @param cursor  Continuation token from the previous slice (optional)
+     * @param size    Slice size
+     * @param sortBy  Field to sort by, ignored when a cursor is given
+     * @param sortDir Sort direction (asc/desc), ignored when a cursor is given
+     * @return Slice of content
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorSlice<Content>>> scrollContent(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        log.info("Scrolling content, cursor: {}, size: {}", cursor, size);
+
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+
+        CursorSlice<Content> slice = contentService.scrollContent(cursor, Math.min(size, MAX_SCROLL_SIZE), sort);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Content retrieved successfully", slice));
+    }
+
     /**
      * Update existing content
      *
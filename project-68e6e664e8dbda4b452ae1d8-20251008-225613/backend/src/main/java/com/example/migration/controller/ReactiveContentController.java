@@ -0,0 +1,113 @@
+package com.example.migration.controller;
+
+import com.example.migration.dto.response.ApiResponse;
+import com.example.migration.model.Content;
+import com.example.migration.service.ReactiveContentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read endpoints for content.
+ * Handlers return Mono and Flux, so the request thread is released while MongoDB is queried.
+ * Lists and search results are streamed as newline-delimited JSON unless the client asks for
+ * application/json only, in which case they are collected into an array. When streamed, each item
+ * is written as soon as it is read, and the next one is only requested once the previous write
+ * has completed, so slow clients apply backpressure to the database cursor.
+ * Writes stay on {@link ContentController}.
+ */
+@RestController
+@RequestMapping("/api/v1/content/reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveContentController {
+
+    private static final int MAX_STREAM_SIZE = 1000;
+
+    private final ReactiveContentService reactiveContentService;
+
+    /**
+     * Get content by ID
+     *
+     * @param id Content ID
+     * @return Content details
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<Content>>> getContentById(@PathVariable String id) {
+        log.info("Fetching content with id: {}", id);
+        return reactiveContentService.getContentById(id)
+                .map(content -> ResponseEntity.ok(new ApiResponse<>(true, "Content retrieved successfully", content)));
+    }
+
+    /**
+     * Get content by slug
+     *
+     * @param slug Content slug
+     * @return Content details
+     */
+    @GetMapping("/slug/{slug}")
+    public Mono<ResponseEntity<ApiResponse<Content>>> getContentBySlug(@PathVariable String slug) {
+        log.info("Fetching content with slug: {}", slug);
+        return reactiveContentService.getContentBySlug(slug)
+                .map(content -> ResponseEntity.ok(new ApiResponse<>(true, "Content retrieved successfully", content)));
+    }
+
+    /**
+     * Stream content, without bodies
+     *
+     * @param page     Page number (0-based)
+     * @param size     Number of items to stream, at most 1000
+     * @param sortBy   Field to sort by
+     * @param sortDir  Sort direction (asc/desc)
+     * @param type     Content type filter (optional)
+     * @param status   Content status filter (optional)
+     * @param category Content category filter (optional)
+     * @param tag      Content tag filter (optional)
+     * @return Stream of content
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Content> streamContent(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag) {
+        log.info("Streaming content page: {}, size: {}, sortBy: {}, sortDir: {}", page, size, sortBy, sortDir);
+
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_STREAM_SIZE), sort);
+        return reactiveContentService.streamContent(pageable, type, status, category, tag);
+    }
+
+    /**
+     * Stream content matching a keyword, without bodies
+     *
+     * @param query Search query
+     * @param page  Page number (0-based)
+     * @param size  Number of items to stream, at most 1000
+     * @return Stream of content matching the search criteria
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Content> searchContent(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        log.info("Streaming search results for query: {}, page: {}, size: {}", query, page, size);
+
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_STREAM_SIZE));
+        return reactiveContentService.searchContent(query, pageable);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.migration.controller;
 
+import com.example.migration.dto.CursorSlice;
 import com.example.migration.dto.UserCreateDto;
+import com.example.migration.dto.UserDTO;
 import com.example.migration.dto.UserResponseDto;
 import com.example.migration.dto.UserUpdateDto;
 import com.example.migration.service.UserService;
@@ -9,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,6 +29,8 @@ import java.util.List;
 @Slf4j
 public class UserController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final UserService userService;
 
     /**
@@ -87,6 +92,27 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Gets users with keyset pagination, without computing a total count.
+     *
+     * @param cursor the continuation token from the previous slice, if any
+     * @param size the slice size
+     * @param sortBy the field to sort by, ignored when a cursor is given
+     * @param sortDir the sort direction, ignored when a cursor is given
+     * @return a slice of users with the token for the next slice
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorSlice<UserDTO>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        log.debug("REST request to scroll Users, cursor: {}", cursor);
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+        return ResponseEntity.ok(userService.scrollUsers(cursor, Math.min(size, MAX_SCROLL_SIZE), sort));
+    }
+
     /**
      * Gets users by role.
      *
@@ -0,0 +1,53 @@
+package com.example.migration.dto;
+
+import com.example.migration.util.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of results from keyset pagination.
+ * Unlike a page it carries no total count; clients pass {@code nextCursor} back to fetch the next slice.
+ *
+ * @param <T> the element type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorSlice<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    /**
+     * Creates a slice from a window read with the given cursor.
+     *
+     * @param window the window of results
+     * @param cursor the cursor the window was read with
+     * @param <T> the element type
+     * @return the slice, with the token for the next slice if there is one
+     */
+    public static <T> CursorSlice<T> of(Window<T> window, KeysetCursor cursor) {
+        return new CursorSlice<>(window.getContent(), window.size(), window.hasNext(), cursor.next(window));
+    }
+
+    /**
+     * Converts the content of this slice, keeping the pagination state.
+     *
+     * @param mapper the conversion function
+     * @param <R> the target element type
+     * @return the converted slice
+     */
+    public <R> CursorSlice<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorSlice<>(content.stream().<R>map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -36,7 +36,7 @@ public class Session {
     private LocalDateTime createdAt;
 
     @Field("expiresAt")
-    @Indexed
+    @Indexed(expireAfter = "0s")
     private LocalDateTime expiresAt;
 
     @Field("lastActivity")
@@ -1,8 +1,12 @@
 package com.example.migration.repository;
 
 import com.example.migration.model.Content;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -112,4 +116,13 @@ public interface ContentRepository extends MongoRepository<Content, String> {
      * @return Page of content matching both criteria
      */
     Page<Content> findByAuthorIdAndStatus(String authorId, String status, Pageable pageable);
+
+    /**
+     * Find a window of content with keyset scrolling, without counting the collection
+     * @param position The position to continue after
+     * @param limit The maximum number of content items to return
+     * @param sort The sort order, ending with a unique property
+     * @return Window of content
+     */
+    Window<Content> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
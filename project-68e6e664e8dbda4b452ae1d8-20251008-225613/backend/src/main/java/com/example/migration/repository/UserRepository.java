@@ -1,6 +1,10 @@
 package com.example.migration.repository;
 
 import com.example.migration.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -121,4 +125,14 @@ public interface UserRepository extends MongoRepository<User, String> {
      */
     @Query(value = "{'lastLoginAt': {$lt: ?0}, 'active': false}", delete = true)
     long deleteInactiveUsersBefore(LocalDateTime date);
+
+    /**
+     * Find a window of users with keyset scrolling, without counting the collection.
+     *
+     * @param position the position to continue after
+     * @param limit the maximum number of users to return
+     * @param sort the sort order, ending with a unique property
+     * @return a window of users
+     */
+    Window<User> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
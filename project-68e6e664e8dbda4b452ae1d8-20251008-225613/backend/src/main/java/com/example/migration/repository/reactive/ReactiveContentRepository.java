@@ -0,0 +1,21 @@
+package com.example.migration.repository.reactive;
+
+import com.example.migration.model.Content;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository for reading Content documents without blocking.
+ * Writes go through {@link com.example.migration.repository.ContentRepository}.
+ */
+@Repository
+public interface ReactiveContentRepository extends ReactiveMongoRepository<Content, String> {
+
+    /**
+     * Find content by its unique slug
+     * @param slug The URL-friendly identifier for the content
+     * @return Mono emitting the content if found
+     */
+    Mono<Content> findBySlug(String slug);
+}
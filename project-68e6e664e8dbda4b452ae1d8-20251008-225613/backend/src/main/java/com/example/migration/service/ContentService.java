@@ -1,14 +1,18 @@
 package com.example.migration.service;
 
+import com.example.migration.dto.CursorSlice;
 import com.example.migration.exception.ContentNotFoundException;
 import com.example.migration.exception.InvalidContentException;
 import com.example.migration.model.Content;
 import com.example.migration.repository.ContentRepository;
+import com.example.migration.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,6 +42,23 @@ public class ContentService {
         return contentRepository.findAll(pageable);
     }
 
+    /**
+     * Retrieves content with keyset pagination. Each slice resumes after the last item of the
+     * previous one, so deep slices cost the same as the first and no count query is issued.
+     *
+     * @param cursor Continuation token from the previous slice, or null to start from the beginning
+     * @param size Maximum number of items in the slice
+     * @param sort Sort order, used only when starting from the beginning
+     * @return Slice of content with the token for the next slice
+     */
+    public CursorSlice<Content> scrollContent(String cursor, int size, Sort sort) {
+        log.debug("Scrolling content, size: {}, sort: {}", size, sort);
+        KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first(sort) : KeysetCursor.decode(cursor);
+        return CursorSlice.of(
+                contentRepository.findAllBy(keysetCursor.getPosition(), Limit.of(size), keysetCursor.getSort()),
+                keysetCursor);
+    }
+
     /**
      * Retrieves content by its ID.
      *
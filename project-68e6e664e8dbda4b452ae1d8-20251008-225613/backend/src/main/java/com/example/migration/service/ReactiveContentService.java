@@ -0,0 +1,105 @@
+package com.example.migration.service;
+
+import com.example.migration.exception.ContentNotFoundException;
+import com.example.migration.model.Content;
+import com.example.migration.repository.reactive.ReactiveContentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.regex.Pattern;
+
+/**
+ * Non-blocking read operations for content.
+ * Lists and searches are emitted as the driver reads them from the cursor, and the cursor
+ * only fetches further batches as the subscriber requests more items. List and search results
+ * leave out the body, which is only needed when a single item is shown.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveContentService {
+
+    private final ReactiveContentRepository reactiveContentRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Retrieves content by its ID.
+     *
+     * @param id The content ID
+     * @return Mono emitting the content, or failing with ContentNotFoundException
+     */
+    public Mono<Content> getContentById(String id) {
+        log.debug("Retrieving content with ID: {}", id);
+        return reactiveContentRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ContentNotFoundException("Content not found with ID: " + id)));
+    }
+
+    /**
+     * Retrieves content by its slug.
+     *
+     * @param slug The content slug
+     * @return Mono emitting the content, or failing with ContentNotFoundException
+     */
+    public Mono<Content> getContentBySlug(String slug) {
+        log.debug("Retrieving content with slug: {}", slug);
+        return reactiveContentRepository.findBySlug(slug)
+                .switchIfEmpty(Mono.error(() -> new ContentNotFoundException("Content not found with slug: " + slug)));
+    }
+
+    /**
+     * Streams content matching the optional filters.
+     *
+     * @param pageable Offset, size and sort of the stream
+     * @param type     Content type filter (optional)
+     * @param status   Content status filter (optional)
+     * @param category Content category filter (optional)
+     * @param tag      Content tag filter (optional)
+     * @return Flux of content without the body
+     */
+    public Flux<Content> streamContent(Pageable pageable, String type, String status, String category, String tag) {
+        log.debug("Streaming content: {}, type: {}, status: {}, category: {}, tag: {}",
+                pageable, type, status, category, tag);
+        Criteria criteria = new Criteria();
+        if (type != null) {
+            criteria.and("type").is(type);
+        }
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        if (category != null) {
+            criteria.and("categories").is(category);
+        }
+        if (tag != null) {
+            criteria.and("tags").is(tag);
+        }
+        return find(new Query(criteria).with(pageable));
+    }
+
+    /**
+     * Streams content whose title or body contains the query, ignoring case.
+     *
+     * @param query    The search query
+     * @param pageable Offset and size of the stream
+     * @return Flux of matching content without the body
+     */
+    public Flux<Content> searchContent(String query, Pageable pageable) {
+        log.debug("Streaming search results for query: {}", query);
+        Pattern pattern = Pattern.compile(Pattern.quote(query), Pattern.CASE_INSENSITIVE);
+        Criteria criteria = new Criteria().orOperator(
+                Criteria.where("title").regex(pattern),
+                Criteria.where("body").regex(pattern));
+        return find(new Query(criteria).with(pageable));
+    }
+
+    private Flux<Content> find(Query query) {
+        query.fields().exclude("body");
+        return reactiveMongoTemplate.find(query, Content.class);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.migration.service;
+
+import com.example.migration.model.Session;
+import com.mongodb.client.result.UpdateResult;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service managing the lifecycle of stored sessions.
+ * Revocations are single multi-document updates, expired sessions are purged by a TTL index on
+ * {@code expiresAt}, and session activity is collected in memory and written in periodic bulk
+ * updates instead of one write per request.
+ */
+@Service
+public class SessionLifecycleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionLifecycleService.class);
+
+    private static final String EXPIRES_AT = "expiresAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final int flushBatchSize;
+    private final Map<String, LocalDateTime> pendingActivity = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SessionLifecycleService(
+            MongoTemplate mongoTemplate,
+            @Value("${app.session.activity.flush-batch-size:1000}") int flushBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    /**
+     * Ensures the TTL index on {@code expiresAt}, converting the existing plain index if needed.
+     * A TTL of zero seconds makes MongoDB remove each session once its expiry time has passed.
+     */
+    @PostConstruct
+    public void ensureExpiryIndex() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Session.class);
+        Optional<IndexInfo> existing = indexOps.getIndexInfo().stream()
+                .filter(index -> index.getIndexFields().size() == 1 && index.isIndexForFields(List.of(EXPIRES_AT)))
+                .findFirst();
+
+        if (existing.isEmpty()) {
+            indexOps.ensureIndex(new Index(EXPIRES_AT, Sort.Direction.ASC).expire(Duration.ZERO));
+            logger.info("Created TTL index on sessions.{}", EXPIRES_AT);
+        } else if (existing.get().getExpireAfter().isEmpty()) {
+            mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(Session.class))
+                    .append("index", new Document("keyPattern", new Document(EXPIRES_AT, 1))
+                            .append("expireAfterSeconds", 0)));
+            logger.info("Converted index on sessions.{} to a TTL index", EXPIRES_AT);
+        }
+    }
+
+    /**
+     * Revokes all active sessions of a user with a single update.
+     *
+     * @param userId the user ID
+     * @return the number of sessions revoked
+     */
+    public long revokeAllSessions(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("isActive").is(true));
+        UpdateResult result = mongoTemplate.updateMulti(query, Update.update("isActive", false), Session.class);
+        logger.debug("Revoked {} sessions for user with ID: {}", result.getModifiedCount(), userId);
+        return result.getModifiedCount();
+    }
+
+    /**
+     * Records activity on a session. The timestamp is written on the next flush; repeated
+     * activity on the same session between flushes results in a single write.
+     *
+     * @param token the session token
+     */
+    public void recordActivity(String token) {
+        pendingActivity.put(token, LocalDateTime.now());
+    }
+
+    /**
+     * Writes the recorded session activity to MongoDB.
+     */
+    @Scheduled(fixedDelayString = "${app.session.activity.flush-interval-ms:30000}")
+    public void flushActivity() {
+        if (pendingActivity.isEmpty()) {
+            return;
+        }
+
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        int flushed = 0;
+        for (String token : pendingActivity.keySet()) {
+            // Remove each entry as it is taken so that activity recorded meanwhile waits for the next flush
+            LocalDateTime lastActivity = pendingActivity.remove(token);
+            if (lastActivity == null) {
+                continue;
+            }
+            batch.put(token, lastActivity);
+            if (batch.size() == flushBatchSize) {
+                flushed += write(batch);
+                batch.clear();
+            }
+        }
+        flushed += write(batch);
+        logger.debug("Flushed activity of {} sessions", flushed);
+    }
+
+    /**
+     * Flushes pending activity before shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushActivity();
+    }
+
+    private int write(Map<String, LocalDateTime> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Session.class);
+        // $max keeps the timestamp from moving backwards when several nodes flush the same session
+        batch.forEach((token, lastActivity) -> bulk.updateOne(
+                new Query(Criteria.where("token").is(token)),
+                new Update().max("lastActivity", lastActivity)));
+        bulk.execute();
+        return batch.size();
+    }
+}
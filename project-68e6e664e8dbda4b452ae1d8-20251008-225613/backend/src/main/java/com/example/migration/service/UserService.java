@@ -4,11 +4,12 @@ import com.example.migration.exception.ResourceNotFoundException;
 import com.example.migration.exception.UserAlreadyExistsException;
 import com.example.migration.model.User;
 import com.example.migration.model.Profile;
-import com.example.migration.model.Session;
 import com.example.migration.repository.UserRepository;
 import com.example.migration.repository.ProfileRepository;
 import com.example.migration.repository.SessionRepository;
 import com.example.migration.security.PasswordEncoder;
+import com.example.migration.util.KeysetCursor;
+import com.example.migration.dto.CursorSlice;
 import com.example.migration.dto.UserDTO;
 import com.example.migration.dto.UserRegistrationDTO;
 import com.example.migration.dto.UserUpdateDTO;
@@ -16,13 +17,14 @@ import com.example.migration.dto.UserUpdateDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -39,17 +41,20 @@ public class UserService {
     private final ProfileRepository profileRepository;
     private final SessionRepository sessionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SessionLifecycleService sessionLifecycleService;
     
     @Autowired
     public UserService(
             UserRepository userRepository,
             ProfileRepository profileRepository,
             SessionRepository sessionRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            SessionLifecycleService sessionLifecycleService) {
         this.userRepository = userRepository;
         this.profileRepository = profileRepository;
         this.sessionRepository = sessionRepository;
         this.passwordEncoder = passwordEncoder;
+        this.sessionLifecycleService = sessionLifecycleService;
     }
     
     /**
@@ -162,6 +167,23 @@ public class UserService {
         return userRepository.findAll(pageable).map(this::convertToDTO);
     }
     
+    /**
+     * Retrieves users with keyset pagination, without counting the collection.
+     * 
+     * @param cursor the continuation token from the previous slice, or null to start from the beginning
+     * @param size the maximum number of users in the slice
+     * @param sort the sort order, used only when starting from the beginning
+     * @return a slice of user DTOs with the token for the next slice
+     */
+    public CursorSlice<UserDTO> scrollUsers(String cursor, int size, Sort sort) {
+        logger.debug("Scrolling users, size: {}, sort: {}", size, sort);
+        KeysetCursor keysetCursor = cursor == null ? KeysetCursor.first(sort) : KeysetCursor.decode(cursor);
+        return CursorSlice.of(
+                        userRepository.findAllBy(keysetCursor.getPosition(), Limit.of(size), keysetCursor.getSort()),
+                        keysetCursor)
+                .map(this::convertToDTO);
+    }
+    
     /**
      * Updates an existing user.
      * 
@@ -241,11 +263,7 @@ public class UserService {
         User deactivatedUser = userRepository.save(user);
         
         // Invalidate all active sessions for this user
-        List<Session> activeSessions = sessionRepository.findByUserIdAndIsActiveTrue(id);
-        for (Session session : activeSessions) {
-            session.setIsActive(false);
-            sessionRepository.save(session);
-        }
+        sessionLifecycleService.revokeAllSessions(id);
         
         logger.info("User deactivated successfully with ID: {}", id);
         return convertToDTO(deactivatedUser);
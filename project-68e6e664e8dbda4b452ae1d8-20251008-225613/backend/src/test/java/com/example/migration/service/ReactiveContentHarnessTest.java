@@ -0,0 +1,242 @@
+package com.example.migration.service;
+
+import com.example.migration.model.Content;
+import com.example.migration.model.Content.ContentType;
+import com.example.migration.repository.ContentRepository;
+import com.example.migration.repository.reactive.ReactiveContentRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Connection-count harness for the blocking and reactive content list paths. Both run the
+ * services as they are, {@link ContentService} over {@link ContentRepository} and
+ * {@link ReactiveContentService} over {@link ReactiveMongoTemplate}, against a local stand-in for
+ * MongoDB that holds one pooled connection per query for a fixed latency. The blocking service is
+ * called from Tomcat's default number of request threads, each of which waits for a connection
+ * and for the reply; the reactive service's queries wait for a connection without a thread.
+ * Throughput and thread counts per pool size are logged for comparison; the assertions only check
+ * that every request is served and that neither path uses more connections than the pool holds.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveContentHarnessTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveContentHarnessTest.class);
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int CONCURRENT_REQUESTS = 2_000;
+    private static final int PAGE_SIZE = 20;
+    private static final Duration QUERY_LATENCY = Duration.ofMillis(20);
+    private static final int[] POOL_SIZES = {50, 200, 500};
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private ReactiveContentRepository reactiveContentRepository;
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final List<Content> page = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new Content("Title " + i, "slug-" + i, null, ContentType.ARTICLE, "author-1"));
+        }
+    }
+
+    @Test
+    void listQueriesLeaveOutTheBodyAndApplyTheFilters() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Content.class))).thenReturn(Flux.fromIterable(page));
+        ReactiveContentService service = new ReactiveContentService(reactiveContentRepository, reactiveMongoTemplate);
+
+        List<Content> streamed = service.streamContent(PageRequest.of(1, PAGE_SIZE), "ARTICLE", null, "news", null)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(streamed).hasSize(PAGE_SIZE);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(reactiveMongoTemplate).find(query.capture(), eq(Content.class));
+        assertThat(query.getValue().getFieldsObject()).isEqualTo(new Document("body", 0));
+        assertThat(query.getValue().getQueryObject())
+                .isEqualTo(new Document("type", "ARTICLE").append("categories", "news"));
+        assertThat(query.getValue().getSkip()).isEqualTo(PAGE_SIZE);
+        assertThat(query.getValue().getLimit()).isEqualTo(PAGE_SIZE);
+    }
+
+    @Test
+    void throughputByConnectionCountOnBlockingAndReactivePaths() throws Exception {
+        log.info("{} concurrent list requests, {} ms per query, {} request threads on the blocking path",
+                CONCURRENT_REQUESTS, QUERY_LATENCY.toMillis(), TOMCAT_MAX_THREADS);
+
+        for (int poolSize : POOL_SIZES) {
+            StandInMongo blockingMongo = new StandInMongo(poolSize);
+            when(contentRepository.findAll(any(Pageable.class)))
+                    .thenAnswer(invocation -> blockingMongo.findPage(invocation.getArgument(0)));
+            RunResult blocking = runBlocking(new ContentService(contentRepository));
+
+            StandInMongo reactiveMongo = new StandInMongo(poolSize);
+            when(reactiveMongoTemplate.find(any(Query.class), eq(Content.class)))
+                    .thenAnswer(invocation -> reactiveMongo.find());
+            RunResult reactive = runReactive(new ReactiveContentService(reactiveContentRepository, reactiveMongoTemplate));
+
+            log.info("{} connections, blocking: {}", poolSize, blocking);
+            log.info("{} connections, reactive: {}", poolSize, reactive);
+
+            assertThat(blocking.items()).isEqualTo((long) CONCURRENT_REQUESTS * PAGE_SIZE);
+            assertThat(reactive.items()).isEqualTo((long) CONCURRENT_REQUESTS * PAGE_SIZE);
+            assertThat(blockingMongo.maxInUse()).isLessThanOrEqualTo(poolSize);
+            assertThat(reactiveMongo.maxInUse()).isLessThanOrEqualTo(poolSize);
+        }
+    }
+
+    private RunResult runBlocking(ContentService service) throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        List<Future<Page<Content>>> requests = new ArrayList<>(CONCURRENT_REQUESTS);
+        long start = System.nanoTime();
+        long items = 0;
+        try (ExecutorService requestThreads = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)) {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                requests.add(requestThreads.submit(() -> {
+                    threads.add(Thread.currentThread());
+                    return service.getAllContent(PageRequest.of(0, PAGE_SIZE));
+                }));
+            }
+            for (Future<Page<Content>> request : requests) {
+                items += request.get(1, TimeUnit.MINUTES).getNumberOfElements();
+            }
+        }
+        return new RunResult(items, System.nanoTime() - start, threads.size());
+    }
+
+    private RunResult runReactive(ReactiveContentService service) {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        long start = System.nanoTime();
+        Long items = Flux.range(0, CONCURRENT_REQUESTS)
+                .flatMap(i -> service.streamContent(PageRequest.of(0, PAGE_SIZE), null, null, null, null)
+                        .doOnNext(content -> threads.add(Thread.currentThread()))
+                        .count(), CONCURRENT_REQUESTS)
+                .reduce(0L, Long::sum)
+                .block(Duration.ofMinutes(1));
+        return new RunResult(items == null ? 0 : items, System.nanoTime() - start, threads.size());
+    }
+
+    /**
+     * Stand-in for a MongoDB server behind a client connection pool. Each query holds a
+     * connection for {@code QUERY_LATENCY}; queries beyond the pool size wait in line, as they do
+     * in the driver's pool.
+     */
+    private final class StandInMongo {
+
+        private final int poolSize;
+        private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private final AtomicInteger maxInUse = new AtomicInteger();
+        private int inUse;
+
+        StandInMongo(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        /**
+         * A query through the blocking driver: the calling thread waits for a connection and for the reply.
+         */
+        Page<Content> findPage(Pageable pageable) {
+            acquire().join();
+            try {
+                Thread.sleep(QUERY_LATENCY);
+                return new PageImpl<>(page, pageable, PAGE_SIZE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * A query through the reactive driver: nothing waits on a thread until the reply arrives.
+         */
+        Flux<Content> find() {
+            return Mono.fromFuture(this::acquire)
+                    .then(Mono.delay(QUERY_LATENCY))
+                    .thenMany(Flux.fromIterable(page))
+                    .doFinally(signal -> release());
+        }
+
+        int maxInUse() {
+            return maxInUse.get();
+        }
+
+        private synchronized CompletableFuture<Void> acquire() {
+            CompletableFuture<Void> connection = new CompletableFuture<>();
+            if (inUse < poolSize) {
+                inUse++;
+                maxInUse.accumulateAndGet(inUse, Math::max);
+                connection.complete(null);
+            } else {
+                waiters.add(connection);
+            }
+            return connection;
+        }
+
+        private void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    inUse--;
+                }
+            }
+            // The connection passes straight to the next waiting query
+            if (next != null) {
+                next.complete(null);
+            }
+        }
+    }
+
+    private record RunResult(long items, long elapsedNanos, int threads) {
+
+        @Override
+        public String toString() {
+            long requestsPerSecond = CONCURRENT_REQUESTS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            return String.format("elapsed=%dms throughput=%d req/s threads=%d",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), requestsPerSecond, threads);
+        }
+    }
+}